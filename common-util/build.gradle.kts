@@ -1,3 +1,6 @@
 dependencies {
     compileOnly(project(":common"))
+    // 基准测试
+    testImplementation("org.openjdk.jmh:jmh-core:1.37")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
\ No newline at end of file
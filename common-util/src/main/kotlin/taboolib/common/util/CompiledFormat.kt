@@ -0,0 +1,160 @@
+package taboolib.common.util
+
+/**
+ * 预解析的格式化模板
+ *
+ * 模板仅解析一次，拆分为字面量、序号参数 {0} 与命名参数 {name}，格式化规则与 [replaceWithOrder] 完全一致：
+ * - 按顺序传入的参数对应 {0}、{1}，不存在时保留为 {序号}
+ * - 以 Pair(值, 名称) 形式传入的参数对应 {名称}，不存在时保留为 {名称}
+ *
+ * ```
+ * val format = CompiledFormat.of("你好，{0}！当前等级 {level}")
+ * format.format("坏黑", 10 to "level")
+ * ```
+ *
+ * @since 2026/10/19 19:10
+ */
+class CompiledFormat private constructor(val source: String) {
+
+    /** 字面量，与 [indexes] 交替排列，长度比 [indexes] 多 1 */
+    private val literals: Array<String>
+
+    /** 参数序号，命名参数为 -1 */
+    private val indexes: IntArray
+
+    /** 参数名称，序号参数为 null */
+    private val names: Array<String?>
+
+    /** 字面量总长度 */
+    private val literalLength: Int
+
+    /** 是否含有参数 */
+    val hasArguments: Boolean
+        get() = indexes.isNotEmpty()
+
+    init {
+        val literals = ArrayList<String>()
+        val indexes = ArrayList<Int>()
+        val names = ArrayList<String?>()
+        val builder = StringBuilder()
+        var i = 0
+        while (i < source.length) {
+            val mark = i
+            if (source[i] == '{') {
+                var num = 0
+                var aliasStart = -1
+                while (i + 1 < source.length && source[i + 1] != '}') {
+                    i++
+                    if (aliasStart == -1 && Character.isDigit(source[i])) {
+                        num *= 10
+                        num += source[i] - '0'
+                    } else if (aliasStart == -1) {
+                        aliasStart = i
+                    }
+                }
+                if (i != mark && i + 1 < source.length && source[i + 1] == '}') {
+                    literals += builder.toString()
+                    builder.setLength(0)
+                    if (aliasStart != -1) {
+                        indexes += -1
+                        names += source.substring(aliasStart, i + 1)
+                    } else {
+                        indexes += num
+                        names += null
+                    }
+                    i++
+                } else {
+                    i = mark
+                }
+            }
+            if (mark == i) {
+                builder.append(source[i])
+            }
+            i++
+        }
+        literals += builder.toString()
+        this.literals = literals.toTypedArray()
+        this.indexes = indexes.toIntArray()
+        this.names = names.toTypedArray()
+        this.literalLength = this.literals.sumOf { it.length }
+    }
+
+    /**
+     * 填充参数
+     */
+    fun format(vararg args: Any): String {
+        // 与 replaceWithOrder 相同，不含参数时返回原文本
+        if (args.isEmpty() || indexes.isEmpty()) {
+            return source
+        }
+        val values = arrayOfNulls<String>(indexes.size)
+        var length = literalLength
+        for (slot in indexes.indices) {
+            val value = resolve(slot, args)
+            values[slot] = value
+            length += value.length
+        }
+        val builder = StringBuilder(length)
+        builder.append(literals[0])
+        for (slot in indexes.indices) {
+            builder.append(values[slot]).append(literals[slot + 1])
+        }
+        return builder.toString()
+    }
+
+    private fun resolve(slot: Int, args: Array<out Any>): String {
+        val name = names[slot]
+        if (name == null) {
+            val index = indexes[slot]
+            return if (index >= 0 && index < args.size) args[index].toString() else "{$index}"
+        }
+        for (arg in args) {
+            if (arg is Pair<*, *> && arg.second == name) {
+                return arg.first?.toString() ?: "{$name}"
+            }
+        }
+        return "{$name}"
+    }
+
+    override fun toString(): String {
+        return "CompiledFormat(source=$source)"
+    }
+
+    companion object {
+
+        /** 参与缓存的最大模板长度，过长的文本通常是一次性的 */
+        const val MAX_CACHED_LENGTH = 1024
+
+        /** 最多缓存的模板数量 */
+        const val MAX_CACHED_SIZE = 2048
+
+        /** 模板缓存，按访问顺序淘汰 */
+        private val cache = object : LinkedHashMap<String, CompiledFormat>(256, 0.75f, true) {
+
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CompiledFormat>): Boolean {
+                return size > MAX_CACHED_SIZE
+            }
+        }
+
+        /**
+         * 获取模板，优先从缓存中读取
+         */
+        fun of(source: String): CompiledFormat {
+            if (source.length > MAX_CACHED_LENGTH) {
+                return CompiledFormat(source)
+            }
+            synchronized(cache) { cache[source] }?.let { return it }
+            // 在锁外解析，重复解析的结果相同
+            val format = CompiledFormat(source)
+            synchronized(cache) { cache[source] = format }
+            return format
+        }
+
+        /**
+         * 解析模板，不使用缓存
+         */
+        fun compile(source: String): CompiledFormat {
+            return CompiledFormat(source)
+        }
+    }
+}
@@ -11,99 +11,177 @@ class VariableReader(val start: String = "{{", val end: String = "}}") {
 
     data class Part(val text: String, val isVariable: Boolean)
 
+    /** 起始符是否由同一字符组成，如 "{{" */
+    private val isUniformStart = start.isNotEmpty() && start.all { it == start[0] }
+
     /**
      * 替换嵌套变量
      */
     fun replaceNested(source: String, transfer: String.() -> String): String {
-        var str = source
-        while (true) {
-            val endPos = indexOf(str, end)
-            if (endPos == -1) {
-                break
+        if (indexOf(source, end, 0, 0) == -1) {
+            return format(source)
+        }
+        return buildString(source.length) { replaceNested(source, this, transfer) }
+    }
+
+    /**
+     * 替换嵌套变量并写入 [builder]
+     *
+     * 单次扫描，使用栈保存未闭合的变量，内层变量先于外层变量替换。
+     * 替换结果不会被再次当作变量解析。
+     */
+    fun replaceNested(source: String, builder: StringBuilder, transfer: String.() -> String) {
+        // frames[0] 为最外层文本，其余为未闭合的变量
+        val frames = ArrayList<StringBuilder>()
+        frames += StringBuilder(source.length)
+        var depth = 0
+        fun push() {
+            depth++
+            if (frames.size == depth) {
+                frames += StringBuilder()
+            } else {
+                frames[depth].setLength(0)
             }
-            val startPos = lastIndexOf(str.substring(0, endPos), start)
-            if (startPos == -1) {
-                break
+        }
+        var i = 0
+        var literal = 0
+        while (i < source.length) {
+            if (isUniformStart && source[i] == start[0]) {
+                // 连续的起始字符从右向左匹配，如 "{{{" 视为 "{" 与 "{{"
+                var n = 1
+                while (i + n < source.length && source[i + n] == start[0]) {
+                    n++
+                }
+                var pos = i + n % start.length
+                if (pos == i && i > 0 && source[i - 1] == '\\') {
+                    pos += start.length
+                }
+                if (pos < i + n) {
+                    frames[depth].append(source, literal, pos)
+                    while (pos < i + n) {
+                        push()
+                        pos += start.length
+                    }
+                    literal = pos
+                }
+                i += n
+            } else if (!isUniformStart && isMark(source, start, i)) {
+                frames[depth].append(source, literal, i)
+                push()
+                i += start.length
+                literal = i
+            } else if (isMark(source, end, i)) {
+                frames[depth].append(source, literal, i)
+                // 不存在对应的起始符时停止解析
+                if (depth == 0) {
+                    literal = i
+                    break
+                }
+                val body = transfer(format(frames[depth]))
+                depth--
+                frames[depth].append(body)
+                i += end.length
+                literal = i
+            } else if (source[i] == '\\' && i + 1 < source.length) {
+                // 跳过被转义的起始符与结束符
+                i += when {
+                    !isUniformStart && source.startsWith(start, i + 1) -> start.length + 1
+                    source.startsWith(end, i + 1) -> end.length + 1
+                    else -> 1
+                }
+            } else {
+                i++
             }
-            val before = str.substring(0, startPos)
-            val after = str.substring(endPos + end.length)
-            val body = transfer(format(str.substring(startPos + start.length, endPos)))
-            str = before + body + after
         }
-        return format(str)
+        // 保留未闭合的变量
+        for (index in 1..depth) {
+            frames[0].append(start).append(frames[index])
+        }
+        frames[0].append(source, literal, source.length)
+        format(frames[0], builder)
     }
 
     fun readToFlatten(source: String): List<Part> {
-        var str = source
         val parts = ArrayList<Part>()
+        var offset = 0
         while (true) {
-            val startPos = indexOf(str, start)
-            val endPos = indexOf(str, end, startPos)
+            val startPos = indexOf(source, start, offset, offset)
+            val endPos = indexOf(source, end, startPos, offset)
             if (startPos == -1 || endPos == -1) {
                 break
             }
-            if (startPos > 0) {
-                parts += Part(format(str.substring(0, startPos)), false)
+            if (startPos > offset) {
+                parts += Part(format(source.substring(offset, startPos)), false)
             }
-            parts += Part(format(str.substring(startPos + start.length, endPos)), true)
-            str = str.substring(endPos + end.length)
+            parts += Part(format(source.substring(startPos + start.length, endPos)), true)
+            offset = endPos + end.length
         }
-        if (str.isNotEmpty()) {
-            parts += Part(format(str), false)
+        if (offset < source.length) {
+            parts += Part(format(source.substring(offset)), false)
         }
         return parts
     }
 
-    private fun format(str: String): String {
+    /**
+     * 判断 [index] 处是否为未被转义的 [mark]
+     */
+    private fun isMark(source: String, mark: String, index: Int): Boolean {
+        return source.startsWith(mark, index) && (index == 0 || source[index - 1] != '\\')
+    }
+
+    private fun format(str: CharSequence): String {
+        return buildString(str.length) { format(str, this) }
+    }
+
+    private fun format(str: CharSequence, builder: StringBuilder) {
         // 不使用 replace 将 "\" + start 和 "\" + end 替换为 start" 和 end
-        return buildString {
-            var i = 0
-            while (i < str.length) {
-                if (str[i] == '\\') {
-                    // 完整匹配 start 和 end
-                    if (i + start.length < str.length && str.substring(i + 1, i + start.length + 1) == start) {
-                        append(start)
-                        i += start.length + 1
-                    } else if (i + end.length < str.length && str.substring(i + 1, i + end.length + 1) == end) {
-                        append(end)
-                        i += end.length + 1
-                    } else {
-                        append(str[i])
-                        i++
-                    }
+        var i = 0
+        while (i < str.length) {
+            if (str[i] == '\\') {
+                // 完整匹配 start 和 end
+                if (i + start.length < str.length && matches(str, i + 1, start)) {
+                    builder.append(start)
+                    i += start.length + 1
+                } else if (i + end.length < str.length && matches(str, i + 1, end)) {
+                    builder.append(end)
+                    i += end.length + 1
                 } else {
-                    append(str[i])
+                    builder.append(str[i])
                     i++
                 }
+            } else {
+                builder.append(str[i])
+                i++
             }
         }
     }
 
-    private fun indexOf(source: String, str: String, start: Int = 0): Int {
-        var s = start
-        while (true) {
-            val find = source.indexOf(str, s)
-            if (find == 0 || (find > 0 && source[find - 1] != '\\')) {
-                return find
-            } else if (find == -1) {
-                return -1
-            } else {
-                s = find + str.length
+    private fun matches(source: CharSequence, index: Int, str: String): Boolean {
+        if (index + str.length > source.length) {
+            return false
+        }
+        for (i in str.indices) {
+            if (source[index + i] != str[i]) {
+                return false
             }
         }
+        return true
     }
 
-    private fun lastIndexOf(source: String, str: String, start: Int = source.length): Int {
+    /**
+     * 查找未被转义的 [str]，位于 [floor] 处的结果视为未被转义
+     */
+    private fun indexOf(source: String, str: String, start: Int, floor: Int): Int {
         var s = start
         while (true) {
-            val find = source.lastIndexOf(str, s)
-            if (find == 0 || (find > 0 && source[find - 1] != '\\')) {
+            val find = source.indexOf(str, s)
+            if (find == floor || (find > floor && source[find - 1] != '\\')) {
                 return find
             } else if (find == -1) {
                 return -1
             } else {
-                s = find - str.length
+                s = find + str.length
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package taboolib.common.util;
+
+import kotlin.jvm.functions.Function1;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VariableReader#replaceNested} 与重写前实现 {@link LegacyVariableReader} 的基准测试
+ * <p>
+ * 输入为含有大量变量（部分嵌套）的长物品描述文本，变量的替换结果不含变量符号。
+ * 通过 main 方法运行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableReaderBenchmark {
+
+    /** 变量数量 */
+    @Param({"16", "128"})
+    public int variables;
+
+    private final VariableReader reader = new VariableReader("{{", "}}");
+    private final LegacyVariableReader legacy = new LegacyVariableReader("{{", "}}");
+    private final Function1<String, String> transfer = it -> "<" + it.length() + ">";
+
+    private String source;
+    private StringBuilder builder;
+
+    @Setup
+    public void setup() {
+        StringBuilder lore = new StringBuilder();
+        for (int i = 0; i < variables; i++) {
+            if (i % 4 == 0) {
+                lore.append("&7属性 ").append(i).append(": {{attribute_{{player_level}}_").append(i).append("}} \\{{转义\\}}\n");
+            } else {
+                lore.append("&7描述文本 ").append(i).append(" {{placeholder_").append(i).append("}} 之后的文本\n");
+            }
+        }
+        source = lore.toString();
+        builder = new StringBuilder(source.length());
+    }
+
+    @Benchmark
+    public String replaceNested() {
+        return reader.replaceNested(source, transfer);
+    }
+
+    @Benchmark
+    public StringBuilder replaceNestedInto() {
+        builder.setLength(0);
+        reader.replaceNested(source, builder, transfer);
+        return builder;
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacy.replaceNested(source, transfer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VariableReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -137,7 +137,7 @@ public final class ObjectConverter {
     /**
      * Converts an Object to a Config. The {@link #bypassTransient} setting applies.
      */
-    private void convertToConfig(Object object, Class<?> clazz, Config destination) {
+    void convertToConfig(Object object, Class<?> clazz, Config destination) {
         // This loop walks through the class hierarchy, see clazz = clazz.getSuperclass(); at the end
         while (clazz != Object.class) {
             // 获取内置转换器
@@ -243,7 +243,7 @@ public final class ObjectConverter {
      * Converts a Config to an Object. The {@link #bypassTransient} and {@link #bypassFinal}
      * settings apply.
      */
-    private void convertToObject(UnmodifiableConfig config, Object object, Class<?> clazz) {
+    void convertToObject(UnmodifiableConfig config, Object object, Class<?> clazz) {
         // This loop walks through the class hierarchy, see clazz = clazz.getSuperclass(); at the end
         while (clazz != Object.class) {
             // 获取内置转换器
@@ -415,7 +415,7 @@ public final class ObjectConverter {
      * @param genericType the list generic type
      * @return a list of the types of the list's elements
      */
-    private List<Class<?>> elementTypes(ParameterizedType genericType) {
+    List<Class<?>> elementTypes(ParameterizedType genericType) {
         List<Class<?>> storage = new ArrayList<>();
         detectElementTypes(genericType, storage);
         return storage;
@@ -429,7 +429,7 @@ public final class ObjectConverter {
      * @param list the list object
      * @return the type of the elements of the most nested list
      */
-    private Class<?> bottomElementType(Collection<?> list) {
+    Class<?> bottomElementType(Collection<?> list) {
         for (Object elem : list) {
             if (elem instanceof Collection) {
                 return bottomElementType((Collection<?>) elem);
@@ -515,7 +515,7 @@ public final class ObjectConverter {
      * @throws ReflectionException if the class doesn't have a constructor without arguments, or if
      *                             the constructor cannot be accessed, or for another reason.
      */
-    private <T> T createInstance(Class<T> tClass) {
+    <T> T createInstance(Class<T> tClass) {
         try {
             if (ignoreConstructor) {
                 return (T) Reflex.Companion.unsafeInstance(tClass);
@@ -533,7 +533,7 @@ public final class ObjectConverter {
     /**
      * 获取字段的转换器
      */
-    private Converter getConverter(Field field) {
+    Converter getConverter(Field field) {
         // 优先获取 @Converter 注解
         Converter converter = AnnotationUtils.getConverter(field);
         if (converter != null) return converter;
@@ -550,7 +550,7 @@ public final class ObjectConverter {
     /**
      * 获取内置转换器
      */
-    private InnerConverter getInnerConverter(Class<?> type) {
+    InnerConverter getInnerConverter(Class<?> type) {
         ReflexClass reflexClass = ReflexClass.Companion.of(type, true);
         ClassMethod toField = reflexClass.getStructure().getMethods().stream().filter(it -> it.getName().equals("toField")).findFirst().orElse(null);
         ClassMethod fromField = reflexClass.getStructure().getMethods().stream().filter(it -> it.getName().equals("fromField")).findFirst().orElse(null);
@@ -0,0 +1,428 @@
+package com.electronwill.nightconfig.core.conversion;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.EnumGetMethod;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import org.tabooproject.reflex.Reflex;
+import taboolib.module.configuration.ConfigSection;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的对象映射器
+ * <p>
+ * 每个类仅在首次使用时解析一次字段结构（路径、转换器、注解、泛型），并生成基于 MethodHandle 的字段读写器，
+ * 之后的转换过程不再进行字段查找和反射访问。转换规则与 {@link ObjectConverter} 保持一致。
+ * <p>
+ * 含有内置转换器（toField/fromField）的类无法预编译，将回退至 {@link ObjectConverter}。
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class ObjectMapper {
+
+    private static final Map<Class<?>, ObjectMapper> MAPPERS = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /** 回退转换器 */
+    private static final ObjectConverter CONVERTER = new ObjectConverter(false);
+    private static final ObjectConverter CONVERTER_IGNORE_CONSTRUCTOR = new ObjectConverter(true);
+
+    private final Class<?> type;
+    private final List<String> path;
+    private final FieldMapping[] fields;
+    private volatile MethodHandle constructor;
+
+    private ObjectMapper(Class<?> type) {
+        this.type = type;
+        this.path = AnnotationUtils.getPath(type);
+        FieldMapping[] compiled;
+        try {
+            compiled = compile(type);
+        } catch (Throwable ex) {
+            compiled = null;
+        }
+        this.fields = compiled;
+    }
+
+    /**
+     * 获取类对应的映射器，首次调用时编译并缓存
+     *
+     * @param type 类
+     * @return 映射器
+     */
+    public static ObjectMapper of(Class<?> type) {
+        return MAPPERS.computeIfAbsent(type, ObjectMapper::new);
+    }
+
+    /**
+     * 将对象写入配置
+     *
+     * @param object      对象
+     * @param destination 目标配置
+     */
+    public static void toConfig(Object object, Config destination) {
+        Objects.requireNonNull(object, "The object must not be null.");
+        Objects.requireNonNull(destination, "The config must not be null.");
+        ObjectMapper mapper = of(object.getClass());
+        if (mapper.path != null) {
+            destination = destination.getRaw(mapper.path);
+        }
+        mapper.write(object, destination);
+    }
+
+    /**
+     * 将配置写入对象
+     *
+     * @param config            配置
+     * @param destination       目标对象
+     * @param ignoreConstructor 创建子对象时是否忽略构造函数
+     */
+    public static void toObject(UnmodifiableConfig config, Object destination, boolean ignoreConstructor) {
+        Objects.requireNonNull(config, "The config must not be null.");
+        Objects.requireNonNull(destination, "The object must not be null.");
+        ObjectMapper mapper = of(destination.getClass());
+        if (mapper.path != null) {
+            config = config.getRaw(mapper.path);
+        }
+        mapper.read(config, destination, ignoreConstructor);
+    }
+
+    /**
+     * 是否已预编译，否则回退至 {@link ObjectConverter}
+     */
+    public boolean isCompiled() {
+        return fields != null;
+    }
+
+    /**
+     * 创建该类的新实例
+     *
+     * @param ignoreConstructor 是否忽略构造函数
+     * @return 实例
+     */
+    public Object newInstance(boolean ignoreConstructor) {
+        if (ignoreConstructor) {
+            return Reflex.Companion.unsafeInstance(type);
+        }
+        MethodHandle handle = constructor;
+        if (handle == null) {
+            try {
+                Constructor<?> ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                handle = LOOKUP.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+                constructor = handle;
+            } catch (ReflectiveOperationException ex) {
+                throw new ReflectionException("Unable to create an instance of " + type, ex);
+            }
+        }
+        try {
+            return (Object) handle.invokeExact();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new ReflectionException("Unable to create an instance of " + type, ex);
+        }
+    }
+
+    /**
+     * 将对象写入配置（不处理类上的 @Path 注解）
+     */
+    public void write(Object object, Config destination) {
+        if (fields == null) {
+            CONVERTER.convertToConfig(object, type, destination);
+            return;
+        }
+        for (FieldMapping mapping : fields) {
+            // 不处理 transient 字段
+            if (mapping.isTransient) {
+                continue;
+            }
+            Object value;
+            try {
+                value = mapping.get(object);
+            } catch (ReflectiveOperationException ex) {
+                throw new ReflectionException("Unable to parse the field " + mapping.field, ex);
+            }
+            mapping.check(value);
+            if (value == null) {
+                destination.set(mapping.path, null);
+                continue;
+            }
+            // 自定义 @Converter
+            if (mapping.converter != null) {
+                value = mapping.converter.convertFromField(value);
+                // 如果 value 返回为 Map 则转换为 Config
+                if (value instanceof Map) {
+                    value = ConfigSection.Companion.toNightConfig$basic_configuration(((Map<?, ?>) value), destination);
+                }
+            }
+            if (value == null) {
+                destination.set(mapping.path, null);
+                continue;
+            }
+            ConfigFormat<?> format = destination.configFormat();
+            Class<?> valueType = value.getClass();
+            if (Enum.class.isAssignableFrom(valueType)) {
+                destination.set(mapping.path, format.supportsType(Enum.class) ? value : value.toString());
+            } else if (mapping.forceBreakdown || !format.supportsType(valueType)) {
+                Config converted = destination.createSubConfig();
+                of(valueType).write(value, converted);
+                destination.set(mapping.path, converted);
+            } else if (value instanceof Collection) {
+                Collection<?> src = (Collection<?>) value;
+                Class<?> bottomType = CONVERTER.bottomElementType(src);
+                if (format.supportsType(bottomType)) {
+                    destination.set(mapping.path, value);
+                } else {
+                    Collection<Object> dst = new ArrayList<>(src.size());
+                    writeCollection(src, bottomType, dst, destination);
+                    destination.set(mapping.path, dst);
+                }
+            } else {
+                destination.set(mapping.path, value);
+            }
+        }
+    }
+
+    /**
+     * 将配置写入对象（不处理类上的 @Path 注解）
+     */
+    public void read(UnmodifiableConfig config, Object object, boolean ignoreConstructor) {
+        if (fields == null) {
+            (ignoreConstructor ? CONVERTER_IGNORE_CONSTRUCTOR : CONVERTER).convertToObject(config, object, type);
+            return;
+        }
+        for (FieldMapping mapping : fields) {
+            // 不处理 transient 字段
+            if (mapping.isTransient) {
+                continue;
+            }
+            Object value = config.get(mapping.path);
+            // 配置文件中不存在该字段
+            if (value == null) {
+                continue;
+            }
+            // 自定义 @Converter
+            if (mapping.converter != null) {
+                value = mapping.converter.convertToField(ConfigSection.Companion.unwrap(value));
+                if (value == null) {
+                    continue;
+                }
+            }
+            Class<?> fieldType = mapping.type;
+            try {
+                if (value instanceof UnmodifiableConfig && !fieldType.isAssignableFrom(value.getClass())) {
+                    // 作为子对象读取
+                    ObjectMapper mapper = of(fieldType);
+                    Object fieldValue = mapping.get(object);
+                    if (fieldValue == null) {
+                        fieldValue = mapper.newInstance(ignoreConstructor);
+                        mapping.set(object, fieldValue);
+                        mapper.read((UnmodifiableConfig) value, fieldValue, ignoreConstructor);
+                    } else if (!mapping.preserve) {
+                        mapper.read((UnmodifiableConfig) value, fieldValue, ignoreConstructor);
+                    }
+                } else if (value instanceof Collection && Collection.class.isAssignableFrom(fieldType)) {
+                    // 作为集合读取，可能需要转换元素
+                    Collection<?> src = (Collection<?>) value;
+                    Class<?> srcBottomType = CONVERTER.bottomElementType(src);
+                    List<Class<?>> dstTypes = mapping.elementTypes;
+                    Class<?> dstBottomType = dstTypes.isEmpty() ? null : dstTypes.get(dstTypes.size() - 1);
+                    if (srcBottomType == null || dstBottomType == null || dstBottomType.isAssignableFrom(srcBottomType)) {
+                        mapping.check(value);
+                        mapping.set(object, value);
+                    } else {
+                        Collection<Object> dst = (Collection<Object>) mapping.get(object);
+                        if (dst == null) {
+                            dst = newCollection(fieldType, src.size(), ignoreConstructor);
+                            mapping.set(object, dst);
+                        }
+                        readCollection(src, dst, dstTypes, 0, ignoreConstructor);
+                        mapping.check(dst);
+                    }
+                } else {
+                    // 作为普通值读取
+                    mapping.check(value);
+                    if (mapping.enumMethod != null) {
+                        mapping.set(object, mapping.enumMethod.get(value, (Class) fieldType));
+                    } else {
+                        mapping.set(object, value);
+                    }
+                }
+            } catch (ReflectiveOperationException ex) {
+                throw new ReflectionException("Unable to work with field " + mapping.field, ex);
+            }
+        }
+    }
+
+    private void readCollection(Collection<?> src, Collection<Object> dst, List<Class<?>> dstElementTypes, int currentLevel, boolean ignoreConstructor) {
+        Class<?> currentType = dstElementTypes.get(currentLevel);
+        for (Object elem : src) {
+            if (elem == null) {
+                dst.add(null);
+            } else if (elem instanceof Collection) {
+                Collection<Object> subDst = newCollection(currentType, 0, ignoreConstructor);
+                readCollection((Collection<?>) elem, subDst, dstElementTypes, currentLevel + 1, ignoreConstructor);
+                dst.add(subDst);
+            } else if (elem instanceof UnmodifiableConfig) {
+                ObjectMapper mapper = of(currentType);
+                Object elementObj = mapper.newInstance(ignoreConstructor);
+                mapper.read((UnmodifiableConfig) elem, elementObj, ignoreConstructor);
+                dst.add(elementObj);
+            } else {
+                throw new InvalidValueException("Unexpected element of type " + elem.getClass() + " in collection of objects");
+            }
+        }
+    }
+
+    private void writeCollection(Collection<?> src, Class<?> srcBottomType, Collection<Object> dst, Config parentConfig) {
+        for (Object elem : src) {
+            if (elem == null) {
+                dst.add(null);
+            } else if (srcBottomType.isAssignableFrom(elem.getClass())) {
+                Config elementConfig = parentConfig.createSubConfig();
+                of(elem.getClass()).write(elem, elementConfig);
+                dst.add(elementConfig);
+            } else if (elem instanceof Collection) {
+                ArrayList<Object> subList = new ArrayList<>();
+                writeCollection((Collection<?>) elem, srcBottomType, subList, parentConfig);
+                subList.trimToSize();
+                dst.add(subList);
+            } else {
+                throw new InvalidValueException("Unexpected element of type " + elem.getClass() + " in collection of " + srcBottomType);
+            }
+        }
+    }
+
+    private static Collection<Object> newCollection(Class<?> type, int size, boolean ignoreConstructor) {
+        if (type == ArrayList.class || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return new ArrayList<>(size);
+        }
+        return (Collection<Object>) of(type).newInstance(ignoreConstructor);
+    }
+
+    private static FieldMapping[] compile(Class<?> type) throws IllegalAccessException {
+        List<FieldMapping> mappings = new ArrayList<>();
+        Class<?> clazz = type;
+        while (clazz != null && clazz != Object.class) {
+            // 内置转换器需要在转换时绑定实例，无法预编译
+            if (CONVERTER.getInnerConverter(clazz) != null) {
+                return null;
+            }
+            for (Field field : clazz.getDeclaredFields()) {
+                mappings.add(new FieldMapping(field, clazz));
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return mappings.toArray(new FieldMapping[0]);
+    }
+
+    /**
+     * 预编译的字段信息
+     */
+    static final class FieldMapping {
+
+        final Field field;
+        final Class<?> type;
+        final Class<?> boxedType;
+        final List<String> path;
+        final boolean isTransient;
+        final boolean preserve;
+        final boolean forceBreakdown;
+        final boolean checked;
+        final Converter<Object, Object> converter;
+        final EnumGetMethod enumMethod;
+        final List<Class<?>> elementTypes;
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        FieldMapping(Field field, Class<?> owner) throws IllegalAccessException {
+            field.setAccessible(true);
+            int modifiers = field.getModifiers();
+            this.field = field;
+            this.type = field.getType();
+            this.boxedType = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+            this.path = AnnotationUtils.getPath(field);
+            this.isTransient = Modifier.isTransient(modifiers);
+            this.preserve = AnnotationUtils.mustPreserve(field, owner);
+            this.forceBreakdown = field.isAnnotationPresent(ForceBreakdown.class);
+            this.checked = hasSpecAnnotation(field);
+            this.converter = CONVERTER.getConverter(field);
+            if (type.isEnum()) {
+                SpecEnum specEnum = field.getAnnotation(SpecEnum.class);
+                this.enumMethod = specEnum == null ? EnumGetMethod.NAME_IGNORECASE : specEnum.method();
+            } else {
+                this.enumMethod = null;
+            }
+            if (field.getGenericType() instanceof ParameterizedType) {
+                this.elementTypes = CONVERTER.elementTypes((ParameterizedType) field.getGenericType());
+            } else {
+                this.elementTypes = Collections.emptyList();
+            }
+            // 静态字段使用反射访问
+            if (Modifier.isStatic(modifiers)) {
+                this.getter = null;
+                this.setter = null;
+            } else {
+                this.getter = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+                MethodHandle setter;
+                try {
+                    setter = LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+                } catch (IllegalAccessException ex) {
+                    // 无法写入的常量字段（如 record），交由反射处理
+                    setter = null;
+                }
+                this.setter = setter;
+            }
+        }
+
+        Object get(Object object) throws ReflectiveOperationException {
+            if (getter == null) {
+                return field.get(object);
+            }
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (RuntimeException | Error | ReflectiveOperationException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new ReflectionException("Unable to parse the field " + field, ex);
+            }
+        }
+
+        void set(Object object, Object value) throws ReflectiveOperationException {
+            // 类型不匹配时交由反射处理，以保留其基本类型拓宽转换及异常行为
+            if (setter == null || !boxedType.isInstance(value)) {
+                field.set(object, value);
+                return;
+            }
+            try {
+                setter.invokeExact(object, value);
+            } catch (RuntimeException | Error | ReflectiveOperationException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new ReflectionException("Unable to work with field " + field, ex);
+            }
+        }
+
+        void check(Object value) {
+            if (checked) {
+                AnnotationUtils.checkField(field, value);
+            }
+        }
+
+        private static boolean hasSpecAnnotation(Field field) {
+            for (Annotation annotation : field.getAnnotations()) {
+                if (annotation.annotationType().getSimpleName().startsWith("Spec")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
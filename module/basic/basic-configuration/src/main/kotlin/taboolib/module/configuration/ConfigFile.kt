@@ -79,7 +79,7 @@ open class ConfigFile(root: Config) : ConfigSection(root), Configuration {
         this.name = file.nameWithoutExtension
         try {
             clear()
-            parser().parse(file, root, ParsingMode.REPLACE, FileNotFoundAction.THROW_ERROR)
+            YamlBinaryCache.withSource(file) { parser().parse(file, root, ParsingMode.REPLACE, FileNotFoundAction.THROW_ERROR) }
         } catch (ex: Exception) {
             // 如果加载失败且文件扩展名不是 .bak，则创建备份
             if (file.extension != "bak") {
@@ -1,6 +1,6 @@
 package taboolib.module.configuration
 
-import com.electronwill.nightconfig.core.conversion.ObjectConverter
+import com.electronwill.nightconfig.core.conversion.ObjectMapper
 import org.tabooproject.reflex.Reflex.Companion.invokeConstructor
 import org.tabooproject.reflex.Reflex.Companion.invokeMethod
 import org.tabooproject.reflex.Reflex.Companion.unsafeInstance
@@ -240,7 +240,7 @@ interface Configuration : ConfigurationSection {
         fun serialize(obj: Any, type: Type = Type.YAML, concurrent: Boolean = true): ConfigurationSection {
             val format = type.newFormat()
             val config = if (concurrent) format.createConcurrentConfig() else format.createConfig { LinkedHashMap() }
-            ObjectConverter().toConfig(obj, config)
+            ObjectMapper.toConfig(obj, config)
             return ConfigSection(config)
         }
 
@@ -253,7 +253,7 @@ interface Configuration : ConfigurationSection {
          */
         inline fun <reified T> deserialize(section: ConfigurationSection, ignoreConstructor: Boolean = false): T {
             val instance = if (ignoreConstructor) T::class.java.unsafeInstance() as T else T::class.java.invokeConstructor()
-            ObjectConverter(ignoreConstructor).toObject((section as ConfigSection).root, instance)
+            ObjectMapper.toObject((section as ConfigSection).root, instance, ignoreConstructor)
             return instance
         }
 
@@ -266,7 +266,7 @@ interface Configuration : ConfigurationSection {
          * @return T
          */
         fun <T> deserialize(section: ConfigurationSection, obj: T, ignoreConstructor: Boolean = false): T {
-            ObjectConverter(ignoreConstructor).toObject((section as ConfigSection).root, obj)
+            ObjectMapper.toObject((section as ConfigSection).root, obj, ignoreConstructor)
             return obj
         }
 
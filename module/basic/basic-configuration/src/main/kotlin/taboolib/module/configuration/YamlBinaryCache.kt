@@ -0,0 +1,293 @@
+package taboolib.module.configuration
+
+import com.electronwill.nightconfig.core.CommentedConfig
+import com.electronwill.nightconfig.core.Config
+import taboolib.common.BinaryCache
+import taboolib.common.io.digest
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.nio.charset.StandardCharsets
+import java.util.*
+
+/**
+ * YAML 二进制缓存
+ *
+ * 将解析后的配置树（包含注释）以紧凑的二进制格式保存至 [BinaryCache] 目录，并以源文件路径与文件内容的数字签名作为索引。
+ * 当源文件内容未发生变化时，直接从缓存中还原配置树，跳过 SnakeYAML 解析与注释处理。
+ * 每个源文件只保留最新的一份缓存，写入新缓存时会删除该文件此前的缓存。
+ *
+ * 仅对通过 [ConfigFile.loadFromFile] 读取的文件生效，从字符串或流中读取的内容没有固定来源，不会被缓存。
+ *
+ * 默认关闭，需手动启用：
+ * ```
+ * YamlBinaryCache.enable = true
+ * ```
+ */
+object YamlBinaryCache {
+
+    /** 缓存格式版本，结构变更时需递增 */
+    private const val VERSION = "yaml-1"
+
+    private const val TYPE_NULL = 0
+    private const val TYPE_STRING = 1
+    private const val TYPE_INT = 2
+    private const val TYPE_LONG = 3
+    private const val TYPE_DOUBLE = 4
+    private const val TYPE_FLOAT = 5
+    private const val TYPE_BOOLEAN = 6
+    private const val TYPE_BIG_INTEGER = 7
+    private const val TYPE_BIG_DECIMAL = 8
+    private const val TYPE_DATE = 9
+    private const val TYPE_BYTES = 10
+    private const val TYPE_LIST = 11
+    private const val TYPE_CONFIG = 12
+    private const val TYPE_MAP = 13
+
+    /** 是否启用 */
+    var enable = false
+
+    /** 启用缓存的最小内容长度（字符数），过小的文件直接解析更快 */
+    var minimumLength = 16 * 1024
+
+    /** 当前线程正在读取的源文件 */
+    private val source = ThreadLocal<File>()
+
+    /**
+     * 在读取 [file] 期间标记其为当前线程的源文件
+     */
+    fun <T> withSource(file: File, block: () -> T): T {
+        val previous = source.get()
+        source.set(file)
+        try {
+            return block()
+        } finally {
+            if (previous == null) source.remove() else source.set(previous)
+        }
+    }
+
+    /**
+     * 获取当前线程正在读取的源文件
+     */
+    fun currentSource(): File? {
+        return source.get()
+    }
+
+    /**
+     * 内容是否适用于二进制缓存
+     */
+    fun isApplicable(contents: String): Boolean {
+        return enable && contents.length >= minimumLength
+    }
+
+    /**
+     * 获取内容对应的缓存名称
+     */
+    fun getCacheName(source: File, contents: String): String {
+        return "${getSourceDirectory(source)}/${contents.digest("sha-256")}"
+    }
+
+    /**
+     * 从缓存中读取配置树并写入 [destination]
+     *
+     * @param name 缓存名称，见 [getCacheName]
+     * @param destination 目标配置
+     * @return 是否读取成功
+     */
+    fun read(name: String, destination: Config): Boolean {
+        // 先读入临时配置，避免缓存损坏时向目标写入残缺的数据
+        val temp = BinaryCache.read(name, VERSION) { bytes ->
+            destination.createSubConfig().also { config -> DataInputStream(bytes.inputStream()).use { readConfig(it, config) } }
+        } ?: return false
+        val comments = (temp as? CommentedConfig)?.commentMap()
+        temp.valueMap().forEach { (key, value) ->
+            val path = listOf(key)
+            destination.set<Any>(path, value)
+            val comment = comments?.get(key)
+            if (comment != null) {
+                (destination as? CommentedConfig)?.setComment(path, comment)
+            }
+        }
+        return true
+    }
+
+    /**
+     * 将配置树写入缓存
+     * 若配置中含有无法编码的值，则放弃本次缓存
+     *
+     * @param name 缓存名称，见 [getCacheName]
+     * @param source 来源配置
+     */
+    fun save(name: String, source: Config) {
+        val bytes = try {
+            val out = ByteArrayOutputStream()
+            DataOutputStream(out).use { writeConfig(it, source) }
+            out.toByteArray()
+        } catch (ex: UnsupportedOperationException) {
+            return
+        }
+        BinaryCache.save(name, VERSION, bytes)
+        dropOthers(name)
+    }
+
+    /**
+     * 删除同一源文件的其他缓存
+     */
+    private fun dropOthers(name: String) {
+        val directory = name.substringBeforeLast('/')
+        val files = BinaryCache.getCacheFile().resolve("binary/$directory").listFiles() ?: return
+        files.forEach { file ->
+            if (file.name.endsWith(".cache")) {
+                val other = "$directory/${file.name.removeSuffix(".cache")}"
+                if (other != name) {
+                    BinaryCache.drop(other)
+                }
+            }
+        }
+    }
+
+    private fun getSourceDirectory(source: File): String {
+        return "yaml/${source.absoluteFile.normalize().path.digest("sha-256")}"
+    }
+
+    private fun writeConfig(out: DataOutputStream, config: Config) {
+        val values = config.valueMap()
+        val comments = (config as? CommentedConfig)?.commentMap()
+        out.writeInt(values.size)
+        values.forEach { (key, value) ->
+            writeString(out, key)
+            writeValue(out, value)
+            val comment = comments?.get(key)
+            out.writeBoolean(comment != null)
+            if (comment != null) {
+                writeString(out, comment)
+            }
+        }
+    }
+
+    private fun readConfig(input: DataInputStream, config: Config) {
+        repeat(input.readInt()) {
+            val path = listOf(readString(input))
+            config.set<Any>(path, readValue(input, config))
+            if (input.readBoolean()) {
+                val comment = readString(input)
+                (config as? CommentedConfig)?.setComment(path, comment)
+            }
+        }
+    }
+
+    private fun writeValue(out: DataOutputStream, value: Any?) {
+        when (value) {
+            null -> out.writeByte(TYPE_NULL)
+            is String -> {
+                out.writeByte(TYPE_STRING)
+                writeString(out, value)
+            }
+            is Int -> {
+                out.writeByte(TYPE_INT)
+                out.writeInt(value)
+            }
+            is Long -> {
+                out.writeByte(TYPE_LONG)
+                out.writeLong(value)
+            }
+            is Double -> {
+                out.writeByte(TYPE_DOUBLE)
+                out.writeDouble(value)
+            }
+            is Float -> {
+                out.writeByte(TYPE_FLOAT)
+                out.writeFloat(value)
+            }
+            is Boolean -> {
+                out.writeByte(TYPE_BOOLEAN)
+                out.writeBoolean(value)
+            }
+            is BigInteger -> {
+                out.writeByte(TYPE_BIG_INTEGER)
+                writeString(out, value.toString())
+            }
+            is BigDecimal -> {
+                out.writeByte(TYPE_BIG_DECIMAL)
+                writeString(out, value.toString())
+            }
+            // java.sql 下的日期类型无法被还原为原始类型
+            is Date -> {
+                if (value.javaClass != Date::class.java) {
+                    throw UnsupportedOperationException(value.javaClass.name)
+                }
+                out.writeByte(TYPE_DATE)
+                out.writeLong(value.time)
+            }
+            is ByteArray -> {
+                out.writeByte(TYPE_BYTES)
+                out.writeInt(value.size)
+                out.write(value)
+            }
+            is List<*> -> {
+                out.writeByte(TYPE_LIST)
+                out.writeInt(value.size)
+                value.forEach { writeValue(out, it) }
+            }
+            is Config -> {
+                out.writeByte(TYPE_CONFIG)
+                writeConfig(out, value)
+            }
+            is Map<*, *> -> {
+                out.writeByte(TYPE_MAP)
+                out.writeInt(value.size)
+                value.forEach { (k, v) ->
+                    writeValue(out, k)
+                    writeValue(out, v)
+                }
+            }
+            else -> throw UnsupportedOperationException(value.javaClass.name)
+        }
+    }
+
+    private fun readValue(input: DataInputStream, parent: Config): Any? {
+        return when (val type = input.readByte().toInt()) {
+            TYPE_NULL -> null
+            TYPE_STRING -> readString(input)
+            TYPE_INT -> input.readInt()
+            TYPE_LONG -> input.readLong()
+            TYPE_DOUBLE -> input.readDouble()
+            TYPE_FLOAT -> input.readFloat()
+            TYPE_BOOLEAN -> input.readBoolean()
+            TYPE_BIG_INTEGER -> BigInteger(readString(input))
+            TYPE_BIG_DECIMAL -> BigDecimal(readString(input))
+            TYPE_DATE -> Date(input.readLong())
+            TYPE_BYTES -> ByteArray(input.readInt()).also { input.readFully(it) }
+            TYPE_LIST -> {
+                val size = input.readInt()
+                val list = ArrayList<Any?>(size)
+                repeat(size) { list += readValue(input, parent) }
+                list
+            }
+            TYPE_CONFIG -> parent.createSubConfig().also { readConfig(input, it) }
+            TYPE_MAP -> {
+                val size = input.readInt()
+                val map = LinkedHashMap<Any?, Any?>(size)
+                repeat(size) { map[readValue(input, parent)] = readValue(input, parent) }
+                map
+            }
+            else -> error("Unknown type $type")
+        }
+    }
+
+    private fun writeString(out: DataOutputStream, value: String) {
+        // 不使用 writeUTF，其长度上限为 65535 字节
+        val bytes = value.toByteArray(StandardCharsets.UTF_8)
+        out.writeInt(bytes.size)
+        out.write(bytes)
+    }
+
+    private fun readString(input: DataInputStream): String {
+        val bytes = ByteArray(input.readInt())
+        input.readFully(bytes)
+        return String(bytes, StandardCharsets.UTF_8)
+    }
+}
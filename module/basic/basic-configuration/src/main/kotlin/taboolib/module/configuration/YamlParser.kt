@@ -55,7 +55,19 @@ class YamlParser(val configFormat: ConfigFormat<CommentedConfig>) : ConfigParser
 
     override fun parse(reader: Reader, destination: Config, parsingMode: ParsingMode) {
         try {
-            loadFromString(reader.readText(), ConfigSection(destination))
+            val contents = reader.readText()
+            // 内容未变化时从二进制缓存中还原（仅对空配置生效，避免合并模式下缓存额外的节点）
+            val source = YamlBinaryCache.currentSource()
+            if (source != null && YamlBinaryCache.isApplicable(contents) && destination.isEmpty) {
+                val cacheName = YamlBinaryCache.getCacheName(source, contents)
+                if (YamlBinaryCache.read(cacheName, destination)) {
+                    return
+                }
+                loadFromString(contents, ConfigSection(destination))
+                YamlBinaryCache.save(cacheName, destination)
+            } else {
+                loadFromString(contents, ConfigSection(destination))
+            }
         } catch (e: Exception) {
             throw ParsingException("YAML parsing failed", e)
         }
@@ -1,5 +1,6 @@
 package taboolib.module.nms
 
+import io.netty.buffer.ByteBuf
 import io.netty.buffer.ByteBufOutputStream
 import io.netty.buffer.Unpooled
 import net.minecraft.core.IRegistryCustom
@@ -15,9 +16,11 @@ import java.io.DataOutput
  * @author 坏黑
  * @since 2022/12/12 23:30
  */
-class DataSerializerFactory12005 : DataSerializerFactory, DataSerializer {
+class DataSerializerFactory12005(private val source: ByteBuf) : DataSerializerFactory, DataSerializer {
 
-    val buf: RegistryFriendlyByteBuf = RegistryFriendlyByteBuf(Unpooled.buffer(), IRegistryCustom.EMPTY)
+    constructor() : this(Unpooled.buffer())
+
+    val buf: RegistryFriendlyByteBuf = RegistryFriendlyByteBuf(source, IRegistryCustom.EMPTY)
 
     override fun writeByte(byte: Byte): DataSerializer {
         return buf.writeByte(byte.toInt()).let { this }
@@ -64,7 +67,15 @@ class DataSerializerFactory12005 : DataSerializerFactory, DataSerializer {
         return ByteBufOutputStream(buf)
     }
 
+    override fun buffer(): ByteBuf {
+        return source
+    }
+
     override fun newSerializer(): DataSerializer {
         return DataSerializerFactory12005()
     }
+
+    override fun newSerializer(buf: ByteBuf): DataSerializer {
+        return DataSerializerFactory12005(buf)
+    }
 }
\ No newline at end of file
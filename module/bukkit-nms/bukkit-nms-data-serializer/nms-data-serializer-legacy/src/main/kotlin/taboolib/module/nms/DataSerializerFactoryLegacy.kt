@@ -1,5 +1,6 @@
 package taboolib.module.nms
 
+import io.netty.buffer.ByteBuf
 import io.netty.buffer.ByteBufOutputStream
 import io.netty.buffer.Unpooled
 import io.netty.handler.codec.EncoderException
@@ -18,9 +19,11 @@ import java.io.DataOutput
  * @author 坏黑
  * @since 2022/12/12 23:30
  */
-class DataSerializerFactoryLegacy : DataSerializerFactory, DataSerializer {
+class DataSerializerFactoryLegacy(private val source: ByteBuf) : DataSerializerFactory, DataSerializer {
 
-    val buf = PacketDataSerializer(Unpooled.buffer())
+    constructor() : this(Unpooled.buffer())
+
+    val buf = PacketDataSerializer(source)
 
     override fun writeByte(byte: Byte): DataSerializer {
         return buf.writeByte(byte.toInt()).let { this }
@@ -74,7 +77,15 @@ class DataSerializerFactoryLegacy : DataSerializerFactory, DataSerializer {
         return ByteBufOutputStream(buf)
     }
 
+    override fun buffer(): ByteBuf {
+        return source
+    }
+
     override fun newSerializer(): DataSerializer {
         return DataSerializerFactoryLegacy()
     }
+
+    override fun newSerializer(buf: ByteBuf): DataSerializer {
+        return DataSerializerFactoryLegacy(buf)
+    }
 }
\ No newline at end of file
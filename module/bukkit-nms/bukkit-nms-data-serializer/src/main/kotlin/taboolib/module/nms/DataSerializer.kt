@@ -1,7 +1,8 @@
 package taboolib.module.nms
 
-import com.google.common.base.Charsets
 import com.google.common.collect.ForwardingMultimap
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufUtil
 import io.netty.handler.codec.EncoderException
 import org.tabooproject.reflex.Reflex.Companion.getProperty
 import java.io.DataOutput
@@ -20,6 +21,14 @@ interface DataSerializer {
 
     fun writeBytes(bytes: ByteArray): DataSerializer
 
+    /**
+     * 写入预先编码的数据，不经过中间数组，也不会改变 [bytes] 的读取位置，因此同一份数据可以被重复写入
+     */
+    fun writeBytes(bytes: ByteBuf): DataSerializer {
+        buffer().writeBytes(bytes, bytes.readerIndex(), bytes.readableBytes())
+        return this
+    }
+
     fun writeShort(short: Short): DataSerializer
 
     fun writeInt(int: Int): DataSerializer
@@ -89,12 +98,13 @@ interface DataSerializer {
     }
 
     fun writeString(string: String): DataSerializer {
-        val arr = string.toByteArray(Charsets.UTF_8)
-        if (arr.size > 32767) {
+        // 先计算编码后的长度，再直接编码至缓冲区
+        val size = ByteBufUtil.utf8Bytes(string)
+        if (size > 32767) {
             throw EncoderException("String too big (was ${string.length} bytes encoded, max 32767)")
         } else {
-            writeVarInt(arr.size)
-            writeBytes(arr)
+            writeVarInt(size)
+            ByteBufUtil.writeUtf8(buffer(), string)
         }
         return this
     }
@@ -103,13 +113,13 @@ interface DataSerializer {
         if (string.length > length) {
             throw EncoderException("String too big (was ${string.length} bytes encoded, max 32767)")
         } else {
-            val arr = string.encodeToByteArray()
+            val size = ByteBufUtil.utf8Bytes(string)
             val maxEncodedUtfLength = length * 3
-            if (arr.size > maxEncodedUtfLength) {
-                throw EncoderException("String too big (was ${arr.size} bytes encoded, max $maxEncodedUtfLength)")
+            if (size > maxEncodedUtfLength) {
+                throw EncoderException("String too big (was $size bytes encoded, max $maxEncodedUtfLength)")
             } else {
-                writeVarInt(arr.size)
-                writeBytes(arr)
+                writeVarInt(size)
+                ByteBufUtil.writeUtf8(buffer(), string)
             }
         }
         return this
@@ -136,4 +146,15 @@ interface DataSerializer {
     fun build(): Any
 
     fun dataOutput(): DataOutput
+
+    /** 获取底层缓冲区 */
+    fun buffer(): ByteBuf
+
+    /**
+     * 释放底层缓冲区
+     * 由 [pooledDataSerializer] 创建的序列化器在数据包构建完成后必须释放
+     */
+    fun release(): Boolean {
+        return buffer().release()
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package taboolib.module.nms
 
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
 import taboolib.common.util.unsafeLazy
 
 /**
@@ -13,6 +15,9 @@ interface DataSerializerFactory {
 
     fun newSerializer(): DataSerializer
 
+    /** 创建一个基于指定缓冲区的 [DataSerializer] */
+    fun newSerializer(buf: ByteBuf): DataSerializer
+
     companion object {
 
         val instance by unsafeLazy {
@@ -30,4 +35,35 @@ interface DataSerializerFactory {
  */
 fun dataSerializerBuilder(builder: DataSerializer.() -> Unit = {}): DataSerializer {
     return DataSerializerFactory.instance.newSerializer().also(builder)
-}
\ No newline at end of file
+}
+
+/**
+ * 创建一个基于池化缓冲区的 [DataSerializer]
+ *
+ * 缓冲区取自 Netty 的默认分配器（与服务端网络层相同），避免频繁创建数据包时的内存分配。
+ * 数据包构建完成后（数据包会在构造时读取所有数据）必须调用 [DataSerializer.release] 归还缓冲区，推荐使用 [use]：
+ * ```
+ * val packet = pooledDataSerializer { writeVarInt(id) }.use { createPacket(it.build()) }
+ * ```
+ */
+fun pooledDataSerializer(builder: DataSerializer.() -> Unit = {}): DataSerializer {
+    val serializer = DataSerializerFactory.instance.newSerializer(ByteBufAllocator.DEFAULT.buffer())
+    try {
+        builder(serializer)
+    } catch (ex: Throwable) {
+        serializer.release()
+        throw ex
+    }
+    return serializer
+}
+
+/**
+ * 执行 [block] 后释放 [DataSerializer]
+ */
+inline fun <T> DataSerializer.use(block: (DataSerializer) -> T): T {
+    try {
+        return block(this)
+    } finally {
+        release()
+    }
+}
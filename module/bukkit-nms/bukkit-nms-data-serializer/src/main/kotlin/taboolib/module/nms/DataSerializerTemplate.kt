@@ -0,0 +1,111 @@
+package taboolib.module.nms
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import io.netty.buffer.Unpooled
+
+/**
+ * 创建一个 [DataSerializerTemplate]
+ *
+ * ```
+ * val template = dataSerializerTemplate {
+ *     field("id") { writeVarInt(0) }
+ *     writeBytes(metadata)
+ * }
+ * // 每次仅重新写入被修改的字段，其余数据直接复制
+ * val packet = template.create { set("id") { writeVarInt(entityId) } }.use { createPacket(it.build()) }
+ * ```
+ */
+fun dataSerializerTemplate(builder: DataSerializerTemplate.Builder.() -> Unit): DataSerializerTemplate {
+    val serializer = DataSerializerFactory.instance.newSerializer()
+    val templateBuilder = DataSerializerTemplate.Builder(serializer).also(builder)
+    return DataSerializerTemplate(Unpooled.unreleasableBuffer(serializer.buffer()), templateBuilder.fields)
+}
+
+/**
+ * 数据包模板
+ *
+ * 模板内容仅编码一次，通过 [Builder.field] 标记的字段可以在 [create] 时被替换，其他数据直接复制。
+ * 被替换的字段长度可以与原字段不同（例如 VarInt）。
+ * 模板本身不会被修改，可以在多个线程中同时使用。
+ *
+ * TabooLib
+ * taboolib.module.nms.DataSerializerTemplate
+ *
+ * @since 2026/10/19 18:50
+ */
+class DataSerializerTemplate(private val source: ByteBuf, private val fields: List<Field>) {
+
+    /** 模板中的所有字段名称 */
+    val fieldNames: List<String> = fields.map { it.name }
+
+    /**
+     * 基于模板创建新的 [DataSerializer]
+     * 返回的序列化器基于池化缓冲区，使用完毕后必须调用 [DataSerializer.release]
+     *
+     * @param patch 需要替换的字段
+     */
+    fun create(patch: Patch.() -> Unit = {}): DataSerializer {
+        val writers = Patch().also(patch).writers
+        val serializer = DataSerializerFactory.instance.newSerializer(ByteBufAllocator.DEFAULT.buffer(source.readableBytes()))
+        try {
+            val buf = serializer.buffer()
+            var index = 0
+            for (field in fields) {
+                val writer = writers[field.name] ?: continue
+                buf.writeBytes(source, index, field.start - index)
+                writer(serializer)
+                index = field.end
+            }
+            buf.writeBytes(source, index, source.writerIndex() - index)
+        } catch (ex: Throwable) {
+            serializer.release()
+            throw ex
+        }
+        return serializer
+    }
+
+    /**
+     * 字段在模板中的位置
+     *
+     * @param start 起始位置（包含）
+     * @param end 结束位置（不包含）
+     */
+    class Field(val name: String, val start: Int, val end: Int)
+
+    /**
+     * 字段替换
+     */
+    class Patch {
+
+        internal val writers = HashMap<String, DataSerializer.() -> Unit>()
+
+        /** 替换指定字段 */
+        fun set(name: String, writer: DataSerializer.() -> Unit) {
+            writers[name] = writer
+        }
+    }
+
+    /**
+     * 模板构建器，除 [field] 外与普通的 [DataSerializer] 相同
+     */
+    class Builder(private val serializer: DataSerializer) : DataSerializer by serializer {
+
+        internal val fields = ArrayList<Field>()
+
+        /**
+         * 写入一个可被替换的字段，[writer] 中写入的内容作为默认值
+         *
+         * @param name 字段名称
+         */
+        fun field(name: String, writer: DataSerializer.() -> Unit): Builder {
+            if (fields.any { it.name == name }) {
+                error("Duplicate field: $name")
+            }
+            val start = serializer.buffer().writerIndex()
+            writer(serializer)
+            fields += Field(name, start, serializer.buffer().writerIndex())
+            return this
+        }
+    }
+}
@@ -2,6 +2,9 @@ package taboolib.module.nms.test
 
 import taboolib.common.Test
 import taboolib.module.nms.dataSerializerBuilder
+import taboolib.module.nms.dataSerializerTemplate
+import taboolib.module.nms.pooledDataSerializer
+import taboolib.module.nms.use
 
 /**
  * TabooLib
@@ -19,6 +22,23 @@ object TestDataSerializer : Test() {
                     writeUtf("test")
                     writeVarInt(1)
                 }
+            },
+            sandbox("NMS:pooledDataSerializer()") {
+                pooledDataSerializer {
+                    writeUtf("test")
+                    writeVarInt(1)
+                }.use { it.build() }
+            },
+            sandbox("NMS:dataSerializerTemplate()") {
+                val template = dataSerializerTemplate {
+                    field("id") { writeVarInt(0) }
+                    writeUtf("test")
+                }
+                template.create { set("id") { writeVarInt(65536) } }.use {
+                    if (it.buffer().readableBytes() != 8) {
+                        error("readableBytes != 8")
+                    }
+                }
             }
         )
     }
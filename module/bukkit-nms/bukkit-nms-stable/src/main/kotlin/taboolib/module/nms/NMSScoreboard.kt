@@ -20,6 +20,7 @@ import taboolib.common.Inject
 import taboolib.common.platform.Ghost
 import taboolib.common.platform.event.EventPriority
 import taboolib.common.platform.event.SubscribeEvent
+import taboolib.common.platform.function.submit
 import taboolib.common.util.t
 import taboolib.common.util.unsafeLazy
 import taboolib.module.nms.type.PlayerScoreboard
@@ -27,18 +28,51 @@ import taboolib.module.nms.type.ChatColorFormat
 import taboolib.platform.util.*
 import java.util.*
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.math.abs
 
 /**
  * 玩家记分板缓存
  */
 private val playerScoreboardMap = ConcurrentHashMap<UUID, PlayerScoreboard>()
 
+/**
+ * 记分板每 tick 最多发送的数据包数量，由所有玩家共享
+ *
+ * 大于 0 时 [sendScoreboard] 不会立即发送，而是在之后的 tick 中按预算依次发送，
+ * 同一玩家在发送前多次更新只会发送最新的内容。默认为 0，即不限制。
+ */
+var scoreboardPacketBudget = 0
+
+/**
+ * 等待发送的记分板
+ */
+private val pendingScoreboards = ConcurrentLinkedQueue<PlayerScoreboard>()
+
+/**
+ * 记分板调度器是否已启动
+ */
+private val scoreboardTaskStarted = AtomicBoolean()
+
 /**
  * 发送记分板数据包
  * @param content 记分板内容（设置为空时注销记分板）
  */
 fun Player.sendScoreboard(vararg content: String) {
     val scoreboard = playerScoreboardMap.getOrPut(uniqueId) { PlayerScoreboard(this) }
+    // 按预算发送
+    if (scoreboardPacketBudget > 0) {
+        val title = if (content.isEmpty()) null else content[0]
+        val lines = if (content.isEmpty()) emptyList() else content.filterIndexed { index, _ -> index > 0 }
+        if (scoreboard.setPending(title, lines)) {
+            pendingScoreboards += scoreboard
+        }
+        if (scoreboardTaskStarted.compareAndSet(false, true)) {
+            submit(period = 1) { flushPendingScoreboards() }
+        }
+        return
+    }
     if (content.isEmpty()) {
         scoreboard.sendContent(emptyList())
     } else {
@@ -47,6 +81,31 @@ fun Player.sendScoreboard(vararg content: String) {
     }
 }
 
+/**
+ * 在预算内发送等待中的记分板
+ * 每个 tick 至少发送一个记分板，避免内容较多的记分板无法发送
+ */
+private fun flushPendingScoreboards() {
+    var remaining = scoreboardPacketBudget
+    var sent = 0
+    while (true) {
+        val scoreboard = pendingScoreboards.peek() ?: break
+        // 已离线
+        if (!scoreboard.player.isOnline) {
+            pendingScoreboards.poll()
+            continue
+        }
+        val cost = scoreboard.pendingCost()
+        if (sent > 0 && (remaining <= 0 || cost > remaining)) {
+            break
+        }
+        pendingScoreboards.poll()
+        scoreboard.flushPending()
+        remaining -= cost
+        sent++
+    }
+}
+
 /**
  * 发送记分板数据包
  * @param prefix 前缀,传入""时为清除前缀
@@ -127,6 +186,23 @@ abstract class NMSScoreboard {
      */
     abstract fun changeContent(player: Player, content: List<String>, lastContent: Map<Int, String>): Boolean
 
+    /**
+     * 估算 [changeContent] 需要发送的数据包数量
+     */
+    fun countChanges(content: List<String>, lastContent: Map<Int, String>): Int {
+        if (content.isEmpty()) {
+            return 1
+        }
+        var count = abs(content.size - lastContent.size)
+        content.forEachIndexed { line, ct ->
+            val owner = content.size - line - 1
+            if (owner >= lastContent.size || ct != lastContent[lastContent.size - owner - 1]) {
+                count++
+            }
+        }
+        return count
+    }
+
     /** 显示记分板 */
     abstract fun display(player: Player)
 
@@ -216,15 +292,22 @@ class NMSScoreboardImpl : NMSScoreboard() {
             player.sendPacket(packet)
             return true
         }
-        val update = content.size != lastContent.size
-        if (update) {
-            updateLineCount(player, content.size, lastContent.size)
+        val packets = ArrayList<Any>()
+        if (content.size != lastContent.size) {
+            updateLineCount(player, content.size, lastContent.size, packets)
         }
+        // 每一行由下往上对应一个队伍，队伍 k 的分数固定为 k
+        // 只需比较同一队伍前后的内容，在顶部增删行时其余行无需重新发送
         content.forEachIndexed { line, ct ->
-            if (update || ct != lastContent[line]) {
-                sendTeamPrefixSuffix(player, uniqueOwner[content.size - line - 1], ct)
+            val owner = content.size - line - 1
+            if (owner >= lastContent.size || ct != lastContent[lastContent.size - owner - 1]) {
+                packets += createTeamPrefixSuffix(uniqueOwner[owner], ct)
             }
         }
+        // 合并发送，1.19.4+ 使用混合包
+        if (packets.isNotEmpty()) {
+            player.sendBundlePacket(packets)
+        }
         return false
     }
 
@@ -465,24 +548,12 @@ class NMSScoreboardImpl : NMSScoreboard() {
     }
 
     /**
+     * 创建修改队伍前缀的数据包
      * @param team 为\[content.size - line - 1\]
      */
-    private fun sendTeamPrefixSuffix(player: Player, team: String, content: String) {
+    private fun createTeamPrefixSuffix(team: String, content: String): Any {
         if (MinecraftVersion.major >= 9) {
-            val packet = net.minecraft.server.v1_16_R3.PacketPlayOutScoreboardTeam::class.java.unsafeInstance()
-            packet.setProperty("method", 2)
-            packet.setProperty("name", team)
-            packet.setProperty("players", listOf(team))
-            // 队伍参数
-            val b = universalTeamData.unsafeInstance()
-            b.setProperty("displayName", component(team))
-            b.setProperty("playerPrefix", component(content))
-            // 1.19 "unexpected null component"
-            if (MinecraftVersion.major >= 11) {
-                b.setProperty("playerSuffix", net.minecraft.network.chat.IChatBaseComponent.empty())
-            }
-            handle1DuplicatedPacket(b, packet, player, net.minecraft.server.v1_16_R3.EnumChatFormat.RESET)
-            return
+            return TeamPacketTemplate.create(team, component(team), component(content))
         }
         // region Legacy Version
         if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_13)) {
@@ -490,8 +561,7 @@ class NMSScoreboardImpl : NMSScoreboard() {
             packet.setProperty("a", team) // 1.17 -> name
             packet.setProperty("c", component(content)) // 1.17 -> playerPrefix
             packet.setProperty("i", 2) // 1.17 -> method
-            player.sendPacket(packet)
-            return
+            return packet
         }
         var prefix = content
         var suffix = ""
@@ -513,11 +583,11 @@ class NMSScoreboardImpl : NMSScoreboard() {
         packet.setProperty(if (MinecraftVersion.major >= 1) "i" else "h", 2)
         packet.setProperty("c", prefix)
         packet.setProperty("d", suffix)
-        player.sendPacket(packet)
+        return packet
         // endregion
     }
 
-    private fun updateLineCount(player: Player, line: Int, lastLineCount: Int) {
+    private fun updateLineCount(player: Player, line: Int, lastLineCount: Int, packets: MutableList<Any>) {
         val objectiveName = getObjectiveName(player)
         // 行数变多了，新增行
         if (validateLineCount(line) > lastLineCount) {
@@ -525,19 +595,19 @@ class NMSScoreboardImpl : NMSScoreboard() {
                 // 1.20.5 后两个参数改为 Optional
                 // String owner, String objectiveName, int score, Optional<IChatBaseComponent> display, Optional<NumberFormat> numberFormat
                 if (MinecraftVersion.versionId >= 12005) {
-                    player.sendPacket(PacketPlayOutScoreboardScore::class.java.invokeConstructor(uniqueOwner[i], objectiveName, i, Optional.empty<Any>(), Optional.empty<Any>()))
+                    packets.add(PacketPlayOutScoreboardScore::class.java.invokeConstructor(uniqueOwner[i], objectiveName, i, Optional.empty<Any>(), Optional.empty<Any>()))
                     return@forEach
                 }
                 // region Legacy Version
                 // 1.20.4 改为 Record
                 // String owner, String objectiveName, int score, @Nullable IChatBaseComponent display, @Nullable NumberFormat numberFormat
                 if (MinecraftVersion.majorLegacy > 12002) {
-                    player.sendPacket(PacketPlayOutScoreboardScore::class.java.invokeConstructor(uniqueOwner[i], objectiveName, i, null, null))
+                    packets.add(PacketPlayOutScoreboardScore::class.java.invokeConstructor(uniqueOwner[i], objectiveName, i, null, null))
                     return@forEach
                 }
                 // 1.13+ 直接实例化
                 if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_13)) {
-                    player.sendPacket(
+                    packets.add(
                         net.minecraft.server.v1_16_R3.PacketPlayOutScoreboardScore(
                             net.minecraft.server.v1_16_R3.ScoreboardServer.Action.CHANGE,
                             objectiveName,
@@ -553,7 +623,7 @@ class NMSScoreboardImpl : NMSScoreboard() {
                 packet.setProperty("b", objectiveName)
                 packet.setProperty("c", i)
                 packet.setProperty("d", net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardScore.EnumScoreboardAction.CHANGE)
-                player.sendPacket(packet)
+                packets.add(packet)
                 // endregion
             }
         }
@@ -563,13 +633,13 @@ class NMSScoreboardImpl : NMSScoreboard() {
                 // 1.20.4
                 // 变成单独一个包了 -> ClientboundResetScorePacket
                 if (MinecraftVersion.majorLegacy > 12002) {
-                    player.sendPacket(ClientboundResetScorePacket::class.java.invokeConstructor(uniqueOwner[i], objectiveName))
+                    packets.add(ClientboundResetScorePacket::class.java.invokeConstructor(uniqueOwner[i], objectiveName))
                     return@forEach
                 }
                 // region Legacy Version
                 // 1.13+
                 if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_13)) {
-                    player.sendPacket(
+                    packets.add(
                         net.minecraft.server.v1_16_R3.PacketPlayOutScoreboardScore(
                             net.minecraft.server.v1_16_R3.ScoreboardServer.Action.REMOVE,
                             uniqueOwner[i],
@@ -583,7 +653,7 @@ class NMSScoreboardImpl : NMSScoreboard() {
                 packet.setProperty("a", uniqueOwner[i])
                 packet.setProperty("b", objectiveName)
                 packet.setProperty("d", net.minecraft.server.v1_12_R1.PacketPlayOutScoreboardScore.EnumScoreboardAction.REMOVE)
-                player.sendPacket(packet)
+                packets.add(packet)
                 // endregion
             }
         }
@@ -616,5 +686,52 @@ class NMSScoreboardImpl : NMSScoreboard() {
         }
         packet.setProperty("c", net.minecraft.server.v1_16_R3.IScoreboardCriteria.EnumScoreboardHealthDisplay.INTEGER)
     }
+
+    /**
+     * 1.17+ 修改队伍前缀的数据包模板
+     * 字段访问器仅解析一次，固定不变的字段值在首次使用时创建
+     */
+    private object TeamPacketTemplate {
+
+        val packetClass = net.minecraft.server.v1_16_R3.PacketPlayOutScoreboardTeam::class.java
+        val parametersClass: Class<*> = PacketPlayOutScoreboardTeam::class.java.declaredClasses[0]
+
+        val method = PacketAccessor.of(packetClass, "method")
+        val name = PacketAccessor.of(packetClass, "name")
+        val players = PacketAccessor.of(packetClass, "players")
+        val parameters = PacketAccessor.of(packetClass, "parameters")
+
+        val displayName = PacketAccessor.of(parametersClass, "displayName")
+        val playerPrefix = PacketAccessor.of(parametersClass, "playerPrefix")
+        val playerSuffix = PacketAccessor.of(parametersClass, "playerSuffix")
+        val nametagVisibility = PacketAccessor.of(parametersClass, "nametagVisibility")
+        val collisionRule = PacketAccessor.of(parametersClass, "collisionRule")
+        val color = PacketAccessor.of(parametersClass, "color")
+        val options = PacketAccessor.of(parametersClass, "options")
+
+        // 1.19 "unexpected null component"
+        val emptySuffix: Any? by unsafeLazy {
+            if (MinecraftVersion.major >= 11) net.minecraft.network.chat.IChatBaseComponent.empty() else null
+        }
+
+        fun create(team: String, teamName: Any, prefix: Any): Any {
+            val packet = packetClass.unsafeInstance()
+            method.write(packet, 2)
+            name.write(packet, team)
+            players.write(packet, listOf(team))
+            // 队伍参数
+            val b = parametersClass.unsafeInstance()
+            displayName.write(b, teamName)
+            playerPrefix.write(b, prefix)
+            if (emptySuffix != null) {
+                playerSuffix.write(b, emptySuffix)
+            }
+            nametagVisibility.write(b, "always")
+            collisionRule.write(b, "always")
+            color.write(b, net.minecraft.server.v1_16_R3.EnumChatFormat.RESET)
+            options.write(b, 3)
+            parameters.write(packet, Optional.of(b))
+            return packet
+        }
+    }
 }
-// endregion
\ No newline at end of file
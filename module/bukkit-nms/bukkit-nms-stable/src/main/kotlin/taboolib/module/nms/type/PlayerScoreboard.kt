@@ -3,6 +3,7 @@ package taboolib.module.nms.type
 import org.bukkit.entity.Player
 import taboolib.module.nms.NMSScoreboard
 import taboolib.module.nms.nmsProxy
+import java.util.concurrent.atomic.AtomicReference
 
 /**
  * 玩家记分板信息缓存
@@ -33,6 +34,9 @@ class PlayerScoreboard(val player: Player) {
     /** 是否被创建 */
     var isCreated = false
 
+    /** 等待发送的标题与内容，见 [taboolib.module.nms.scoreboardPacketBudget] */
+    private val pending = AtomicReference<Pair<String?, List<String>>?>()
+
     init {
         // 初始化记分板
         nmsScoreboard.setupScoreboard(player, true)
@@ -66,6 +70,35 @@ class PlayerScoreboard(val player: Player) {
         currentContent.putAll(lines.mapIndexed { index, s -> index to s }.toMap())
     }
 
+    /**
+     * 设置等待发送的标题与内容，覆盖之前未发送的内容
+     * @param title 标题，为 null 时不修改
+     * @return 是否需要加入发送队列（之前没有等待发送的内容）
+     */
+    fun setPending(title: String?, lines: List<String>): Boolean {
+        return pending.getAndSet(title to lines) == null
+    }
+
+    /**
+     * 估算发送等待中的内容需要的数据包数量
+     */
+    fun pendingCost(): Int {
+        val (title, lines) = pending.get() ?: return 0
+        val cost = nmsScoreboard.countChanges(lines, currentContent)
+        return if (title != null && title != currentTitle) cost + 1 else cost
+    }
+
+    /**
+     * 发送等待中的内容
+     */
+    fun flushPending() {
+        val (title, lines) = pending.getAndSet(null) ?: return
+        if (title != null) {
+            sendTitle(title)
+        }
+        sendContent(lines)
+    }
+
     /**
      * 设置前缀
      */
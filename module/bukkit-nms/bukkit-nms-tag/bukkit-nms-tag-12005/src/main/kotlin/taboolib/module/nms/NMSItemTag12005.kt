@@ -6,6 +6,8 @@ import net.minecraft.world.item.component.CustomData
 import org.bukkit.craftbukkit.v1_20_R4.CraftRegistry
 import org.bukkit.craftbukkit.v1_20_R4.inventory.CraftItemStack
 import org.bukkit.inventory.ItemStack
+import org.tabooproject.reflex.UnsafeAccess
+import java.lang.invoke.MethodHandle
 import kotlin.jvm.optionals.getOrNull
 
 /**
@@ -13,6 +15,9 @@ import kotlin.jvm.optionals.getOrNull
  */
 class NMSItemTag12005 : NMSItemTag() {
 
+    /** CraftItemStack#handle */
+    val craftItemHandleGetter: MethodHandle = UnsafeAccess.lookup.unreflectGetter(CraftItemStack::class.java.getDeclaredField("handle").apply { isAccessible = true })
+
     override fun newItemTag(): ItemTag {
         return ItemTag12005()
     }
@@ -34,6 +39,76 @@ class NMSItemTag12005 : NMSItemTag() {
         return CraftItemStack.asBukkitCopy(itemStack as net.minecraft.world.item.ItemStack)
     }
 
+    override fun getNMSHandle(itemStack: ItemStack): net.minecraft.world.item.ItemStack {
+        if (itemStack is CraftItemStack) {
+            val handle = craftItemHandleGetter.invoke(itemStack) as net.minecraft.world.item.ItemStack?
+            if (handle != null) {
+                return handle
+            }
+        }
+        return getNMSCopy(itemStack)
+    }
+
+    override fun getItemTagData(nmsItem: Any, path: List<String>, onlyCustom: Boolean): ItemTagData? {
+        nmsItem as net.minecraft.world.item.ItemStack
+        // 自定义数据直接读取，不复制
+        @Suppress("DEPRECATION")
+        var tag: NBTBase = if (onlyCustom) {
+            nmsItem.get(DataComponents.CUSTOM_DATA)?.unsafe ?: return null
+        } else {
+            nmsItem.save(CraftRegistry.getMinecraftRegistry())
+        }
+        for (key in path) {
+            tag = (tag as? NBTTagCompound)?.get(key) ?: return null
+        }
+        return itemTagToBukkitCopy(tag, onlyCustom)
+    }
+
+    override fun setItemTagData(nmsItem: Any, path: List<String>, value: ItemTagData?, onlyCustom: Boolean): Any {
+        nmsItem as net.minecraft.world.item.ItemStack
+        if (onlyCustom) {
+            val root = nmsItem.get(DataComponents.CUSTOM_DATA)?.copyTag() ?: NBTTagCompound()
+            if (setItemTagData(root, path, value)) {
+                nmsItem.set(DataComponents.CUSTOM_DATA, CustomData.of(root))
+            }
+            return nmsItem
+        } else {
+            val root = nmsItem.save(CraftRegistry.getMinecraftRegistry()) as? NBTTagCompound ?: return nmsItem
+            if (!setItemTagData(root, path, value)) {
+                return nmsItem
+            }
+            return net.minecraft.world.item.ItemStack.parse(CraftRegistry.getMinecraftRegistry(), root).getOrNull() ?: nmsItem
+        }
+    }
+
+    /**
+     * 在复合类型中写入指定路径的数据
+     * 若路径中存在非复合类型的数据则放弃写入，与 [ItemTag.putDeep] 一致
+     *
+     * @return 是否发生修改
+     */
+    private fun setItemTagData(root: NBTTagCompound, path: List<String>, value: ItemTagData?): Boolean {
+        var find = root
+        for (i in 0 until path.size - 1) {
+            val next = find.get(path[i])
+            find = when {
+                next is NBTTagCompound -> next
+                next != null || value == null -> return false
+                else -> NBTTagCompound().also { find.put(path[i], it) }
+            }
+        }
+        val key = path.last()
+        if (value == null) {
+            if (!find.contains(key)) {
+                return false
+            }
+            find.remove(key)
+        } else {
+            find.put(key, itemTagToNMSCopy(value))
+        }
+        return true
+    }
+
     override fun getItemTag(itemStack: ItemStack, onlyCustom: Boolean): ItemTag {
         val nmsItem = getNMSCopy(itemStack)
         return if (onlyCustom) {
@@ -26,6 +26,7 @@ open class NMSItemTagLegacy : NMSItemTag() {
     val nbtTagLongArrayGetter =
         if (MinecraftVersion.isLower(MinecraftVersion.V1_12)) null
         else unreflectGetter<NBTTagLongArray12>(if (MinecraftVersion.isUniversal) "c" else "b")
+    val craftItemHandleGetter = unreflectGetter<CraftItemStack12>("handle")
 
     override fun newItemTag(): ItemTag {
         return ItemTag()
@@ -55,6 +56,51 @@ open class NMSItemTagLegacy : NMSItemTag() {
         return org.bukkit.craftbukkit.v1_12_R1.inventory.CraftItemStack.asBukkitCopy(itemStack as net.minecraft.server.v1_12_R1.ItemStack)
     }
 
+    override fun getNMSHandle(itemStack: ItemStack): NMSItemStack12 {
+        if (itemStack is CraftItemStack12) {
+            val handle = craftItemHandleGetter.get<NMSItemStack12?>(itemStack)
+            if (handle != null) {
+                return handle
+            }
+        }
+        return getNMSCopy(itemStack)
+    }
+
+    override fun getItemTagData(nmsItem: Any, path: List<String>, onlyCustom: Boolean): ItemTagData? {
+        var tag: Any = (nmsItem as NMSItemStack12).tag ?: return null
+        for (key in path) {
+            // 反射获取字段：
+            // private final Map<String, NBTBase> map
+            if (tag !is NBTTagCompound12) {
+                return null
+            }
+            tag = nbtTagCompoundGetter.get<Map<String, Any>>(tag)[key] ?: return null
+        }
+        return itemTagToBukkitCopy(tag)
+    }
+
+    override fun setItemTagData(nmsItem: Any, path: List<String>, value: ItemTagData?, onlyCustom: Boolean): Any {
+        nmsItem as NMSItemStack12
+        var find = nmsItem.tag ?: if (value == null) return nmsItem else NBTTagCompound12().also { nmsItem.tag = it }
+        for (i in 0 until path.size - 1) {
+            val map = nbtTagCompoundGetter.get<MutableMap<String, Any>>(find)
+            val next = map[path[i]]
+            // 若路径中存在非复合类型的数据则放弃写入，与 ItemTag#putDeep 一致
+            find = when {
+                next is NBTTagCompound12 -> next
+                next != null || value == null -> return nmsItem
+                else -> NBTTagCompound12().also { map[path[i]] = it }
+            }
+        }
+        val map = nbtTagCompoundGetter.get<MutableMap<String, Any>>(find)
+        if (value == null) {
+            map.remove(path.last())
+        } else {
+            map[path.last()] = itemTagToNMSCopy(value)
+        }
+        return nmsItem
+    }
+
     override fun getItemTag(itemStack: ItemStack, onlyCustom: Boolean): ItemTag {
         val nmsItem = getNMSCopy(itemStack)
         return if (nmsItem.hasTag()) itemTagToBukkitCopy(nmsItem.tag!!).asCompound() else ItemTag()
@@ -184,6 +230,7 @@ open class NMSItemTagLegacy : NMSItemTag() {
     }
 }
 
+typealias CraftItemStack12 = org.bukkit.craftbukkit.v1_12_R1.inventory.CraftItemStack
 typealias NMSItemStack12 = net.minecraft.server.v1_12_R1.ItemStack
 typealias NBTTagCompound12 = net.minecraft.server.v1_12_R1.NBTTagCompound
 typealias NBTTagList12 = net.minecraft.server.v1_12_R1.NBTTagList
@@ -0,0 +1,414 @@
+package taboolib.module.nms
+
+import org.bukkit.Bukkit
+import org.bukkit.Material
+import org.bukkit.inventory.Inventory
+import org.bukkit.inventory.ItemStack
+import taboolib.platform.util.isAir
+import java.io.*
+import java.nio.charset.StandardCharsets
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.InflaterInputStream
+
+/**
+ * 将物品编码为紧凑的二进制格式，见 [ItemStackCodec]
+ *
+ * @param compress 是否压缩，单个物品通常无需压缩
+ */
+fun ItemStack.serializeToBinary(compress: Boolean = false): ByteArray {
+    return ItemStackCodec.encode(this, compress)
+}
+
+/**
+ * 将 [serializeToBinary] 的结果解码为物品
+ */
+fun ByteArray.deserializeBinaryToItemStack(): ItemStack {
+    return ItemStackCodec.decode(this)
+}
+
+/**
+ * 将页面编码为紧凑的二进制格式，见 [ItemStackCodec]
+ *
+ * @param size 要编码的页面大小，默认为页面的大小
+ * @param compress 是否压缩
+ */
+fun Inventory.serializeToBinary(size: Int = this.size, compress: Boolean = true): ByteArray {
+    return ItemStackCodec.encode((0 until size).map { getItem(it) }, compress)
+}
+
+/**
+ * 将 [Inventory.serializeToBinary] 的结果解码为页面
+ *
+ * @param inventory 要写入的页面，为 null 时创建新的页面（大小向上取整为 9 的倍数）
+ */
+fun ByteArray.deserializeBinaryToInventory(inventory: Inventory? = null): Inventory {
+    val items = ItemStackCodec.decodeItems(this)
+    val inv = inventory ?: ItemStackCodec.createInventory(items.size)
+    items.forEachIndexed { slot, item -> if (item != null) inv.setItem(slot, item) }
+    return inv
+}
+
+/**
+ * 物品二进制编码
+ *
+ * 用于替代基于 Java 序列化（BukkitObjectOutputStream）的 ItemSerializer，通过 [ItemTag] 将物品写为带版本的 NBT 二进制数据。
+ * 格式如下：
+ * ```
+ * 头部：格式版本 (byte) | 标记 (byte) | 数据版本 (VarInt，即 MinecraftVersion.majorLegacy)
+ * 数据：若启用压缩则以 Deflate 压缩
+ *   物品列表：长度 + 1 (VarInt，0 表示流结束) | 非空物品数量 (VarInt) | [位置 (VarInt) | 物品]...
+ *   物品：材质 (字符串) | 数量 (VarInt) | 耐久 (VarInt) | NBT
+ * ```
+ *
+ * 字符串（材质与 NBT 中的键和字符串值）通过共享字典编码：首次出现时写入原文，之后仅写入序号。
+ * 字典在同一份数据（单个物品、单个页面或整个流）中共享，页面中大量重复的物品只需写入一次键名与材质。
+ *
+ * 1.20.5 前后的 NBT 结构不同，跨越该版本的数据无法解码。
+ *
+ * TabooLib
+ * taboolib.module.nms.ItemStackCodec
+ *
+ * @since 2026/10/19 20:10
+ */
+object ItemStackCodec {
+
+    /** 格式版本 */
+    const val VERSION = 1
+
+    /** 标记：启用共享字典 */
+    const val FLAG_DICTIONARY = 1
+
+    /** 标记：启用压缩 */
+    const val FLAG_COMPRESS = 2
+
+    /** 字典容量，超出后新出现的字符串不再进入字典 */
+    const val DICTIONARY_CAPACITY = 65536
+
+    /**
+     * 编码单个物品
+     */
+    fun encode(item: ItemStack?, compress: Boolean = false): ByteArray {
+        return encode(listOf(item), compress)
+    }
+
+    /**
+     * 解码单个物品，空物品解码为 AIR
+     */
+    fun decode(bytes: ByteArray): ItemStack {
+        return decodeItems(bytes).firstOrNull() ?: ItemStack(Material.AIR)
+    }
+
+    /**
+     * 编码物品列表，列表中的位置将被保留
+     */
+    fun encode(items: List<ItemStack?>, compress: Boolean = true): ByteArray {
+        val out = ByteArrayOutputStream()
+        Writer(out, compress).use { it.write(items) }
+        return out.toByteArray()
+    }
+
+    /**
+     * 解码物品列表，空位为 null
+     *
+     * @throws UnknownMaterialException 物品的材质在当前版本中不存在
+     */
+    fun decodeItems(bytes: ByteArray): List<ItemStack?> {
+        return Reader(ByteArrayInputStream(bytes)).use { it.read() } ?: emptyList()
+    }
+
+    /**
+     * 流式写入
+     * 适用于一次写入大量页面，所有页面共享同一个字典与压缩流
+     *
+     * @param compress 是否压缩
+     * @param dictionary 是否启用共享字典
+     */
+    class Writer(output: OutputStream, compress: Boolean = true, dictionary: Boolean = true) : Closeable {
+
+        private val dictionary: HashMap<String, Int>? = if (dictionary) HashMap() else null
+        private val deflater: Deflater? = if (compress) Deflater(Deflater.BEST_SPEED) else null
+        private val out: DataOutputStream
+
+        init {
+            output.write(VERSION)
+            output.write((if (dictionary) FLAG_DICTIONARY else 0) or (if (compress) FLAG_COMPRESS else 0))
+            writeVarInt(output, MinecraftVersion.majorLegacy)
+            out = DataOutputStream(BufferedOutputStream(if (deflater != null) DeflaterOutputStream(output, deflater) else output))
+        }
+
+        /**
+         * 写入页面
+         */
+        fun write(inventory: Inventory, size: Int = inventory.size) {
+            write((0 until size).map { inventory.getItem(it) })
+        }
+
+        /**
+         * 写入物品列表
+         */
+        fun write(items: List<ItemStack?>) {
+            writeVarInt(out, items.size + 1)
+            writeVarInt(out, items.count { it.isNotEmpty() })
+            items.forEachIndexed { slot, item ->
+                if (item.isNotEmpty()) {
+                    writeVarInt(out, slot)
+                    writeItem(item!!)
+                }
+            }
+        }
+
+        private fun writeItem(item: ItemStack) {
+            writeString(item.type.name)
+            writeVarInt(out, item.amount)
+            @Suppress("DEPRECATION")
+            writeVarInt(out, item.durability.toInt() and 0xFFFF)
+            writeData(item.getItemTag(onlyCustom = false))
+        }
+
+        private fun writeData(data: ItemTagData) {
+            out.writeByte(data.type.id.toInt())
+            when (data.type) {
+                ItemTagType.END -> {}
+                ItemTagType.BYTE -> out.writeByte(data.asByte().toInt())
+                ItemTagType.SHORT -> out.writeShort(data.asShort().toInt())
+                ItemTagType.INT -> writeVarInt(out, data.asInt())
+                ItemTagType.LONG -> out.writeLong(data.asLong())
+                ItemTagType.FLOAT -> out.writeFloat(data.asFloat())
+                ItemTagType.DOUBLE -> out.writeDouble(data.asDouble())
+                ItemTagType.STRING -> writeString(data.asString())
+                ItemTagType.BYTE_ARRAY -> data.asByteArray().let {
+                    writeVarInt(out, it.size)
+                    out.write(it)
+                }
+                ItemTagType.INT_ARRAY -> data.asIntArray().let { array ->
+                    writeVarInt(out, array.size)
+                    array.forEach { out.writeInt(it) }
+                }
+                ItemTagType.LONG_ARRAY -> data.asLongArray().let { array ->
+                    writeVarInt(out, array.size)
+                    array.forEach { out.writeLong(it) }
+                }
+                ItemTagType.LIST -> data.asList().let { list ->
+                    writeVarInt(out, list.size)
+                    list.forEach { writeData(it) }
+                }
+                ItemTagType.COMPOUND -> data.asCompound().let { compound ->
+                    writeVarInt(out, compound.size)
+                    compound.forEach { (key, value) ->
+                        writeString(key)
+                        writeData(value)
+                    }
+                }
+            }
+        }
+
+        private fun writeString(value: String) {
+            val dictionary = dictionary
+            if (dictionary != null) {
+                val index = dictionary[value]
+                if (index != null) {
+                    writeVarInt(out, index + 1)
+                    return
+                }
+                if (dictionary.size < DICTIONARY_CAPACITY) {
+                    dictionary[value] = dictionary.size
+                }
+            }
+            // 0 表示原文
+            writeVarInt(out, 0)
+            val bytes = value.toByteArray(StandardCharsets.UTF_8)
+            writeVarInt(out, bytes.size)
+            out.write(bytes)
+        }
+
+        /**
+         * 写入结束标记并关闭
+         */
+        override fun close() {
+            writeVarInt(out, 0)
+            out.close()
+            deflater?.end()
+        }
+    }
+
+    /**
+     * 流式读取
+     */
+    class Reader(input: InputStream) : Closeable {
+
+        private val dictionary: ArrayList<String>?
+        private val input: DataInputStream
+
+        /** 数据版本（写入时的 MinecraftVersion.majorLegacy） */
+        val dataVersion: Int
+
+        init {
+            val version = input.read()
+            if (version != VERSION) {
+                error("Unsupported ItemStackCodec version: $version")
+            }
+            val flags = input.read()
+            dataVersion = readVarInt(input)
+            // 1.20.5 前后的 NBT 结构不同
+            if ((dataVersion >= 12005) != (MinecraftVersion.majorLegacy >= 12005)) {
+                error("Incompatible item data version: $dataVersion (current: ${MinecraftVersion.majorLegacy})")
+            }
+            dictionary = if (flags and FLAG_DICTIONARY != 0) ArrayList() else null
+            val source = if (flags and FLAG_COMPRESS != 0) InflaterInputStream(input) else input
+            this.input = DataInputStream(BufferedInputStream(source))
+        }
+
+        /**
+         * 读取下一个物品列表，流结束时返回 null
+         *
+         * @throws UnknownMaterialException 物品的材质在当前版本中不存在
+         */
+        fun read(): List<ItemStack?>? {
+            val size = readVarInt(input) - 1
+            if (size < 0) {
+                return null
+            }
+            val items = arrayOfNulls<ItemStack>(size)
+            repeat(readVarInt(input)) {
+                val slot = readVarInt(input)
+                val item = readItem()
+                if (slot < size) {
+                    items[slot] = item
+                }
+            }
+            return items.asList()
+        }
+
+        /**
+         * 读取下一个物品列表并写入页面，流结束时返回 null
+         *
+         * @param inventory 要写入的页面，为 null 时创建新的页面
+         */
+        fun readInventory(inventory: Inventory? = null): Inventory? {
+            val items = read() ?: return null
+            val inv = inventory ?: ItemStackCodec.createInventory(items.size)
+            items.forEachIndexed { slot, item -> if (item != null) inv.setItem(slot, item) }
+            return inv
+        }
+
+        private fun readItem(): ItemStack {
+            val name = readString()
+            val amount = readVarInt(input)
+            val durability = readVarInt(input).toShort()
+            val tag = readData()
+            // 无法识别的材质（例如跨版本更名）不能静默丢弃，否则会造成物品丢失
+            val material = Material.getMaterial(name) ?: throw UnknownMaterialException(name, amount, durability, tag)
+            @Suppress("DEPRECATION")
+            val item = ItemStack(material, amount, durability)
+            if (tag.type != ItemTagType.COMPOUND || tag.asCompound().isEmpty()) {
+                return item
+            }
+            return item.setItemTag(tag.asCompound(), onlyCustom = false)
+        }
+
+        private fun readData(): ItemTagData {
+            return when (val type = input.readByte().toInt()) {
+                0 -> ItemTagData(ItemTagType.END, 0)
+                1 -> ItemTagData(input.readByte())
+                2 -> ItemTagData(input.readShort())
+                3 -> ItemTagData(readVarInt(input))
+                4 -> ItemTagData(input.readLong())
+                5 -> ItemTagData(input.readFloat())
+                6 -> ItemTagData(input.readDouble())
+                7 -> ItemTagData(ByteArray(readVarInt(input)).also { input.readFully(it) })
+                8 -> ItemTagData(readString())
+                9 -> ItemTagList(List(readVarInt(input)) { readData() })
+                10 -> {
+                    val compound = ItemTag()
+                    repeat(readVarInt(input)) {
+                        val key = readString()
+                        compound.put(key, readData())
+                    }
+                    compound
+                }
+                11 -> ItemTagData(IntArray(readVarInt(input)) { input.readInt() })
+                12 -> ItemTagData(LongArray(readVarInt(input)) { input.readLong() })
+                else -> error("Unknown tag type: $type")
+            }
+        }
+
+        private fun readString(): String {
+            val index = readVarInt(input)
+            if (index > 0) {
+                return dictionary!![index - 1]
+            }
+            val bytes = ByteArray(readVarInt(input))
+            input.readFully(bytes)
+            val value = String(bytes, StandardCharsets.UTF_8)
+            val dictionary = dictionary
+            if (dictionary != null && dictionary.size < DICTIONARY_CAPACITY) {
+                dictionary += value
+            }
+            return value
+        }
+
+        override fun close() {
+            input.close()
+        }
+    }
+
+    /**
+     * 物品的材质在当前版本中不存在
+     * 解码会被中断，原始数据保留在异常中，由调用者决定如何处理（例如保留原始数据并提示管理员）
+     *
+     * @param material 材质名称
+     * @param amount 数量
+     * @param durability 耐久
+     * @param tag 物品的 NBT
+     */
+    class UnknownMaterialException(
+        val material: String,
+        val amount: Int,
+        val durability: Short,
+        val tag: ItemTagData,
+    ) : IllegalStateException("Unknown material: $material")
+
+    /**
+     * 创建可以容纳指定数量物品的箱子页面
+     * 箱子页面的大小必须是 9 的倍数，因此向上取整（例如玩家背包的 41 格将使用 45 格的页面）
+     *
+     * @throws IllegalArgumentException 超出箱子页面的最大大小（54）
+     */
+    internal fun createInventory(size: Int): Inventory {
+        require(size <= 54) { "Cannot create an inventory for $size items, pass an inventory instead" }
+        return Bukkit.createInventory(null, ((size + 8) / 9 * 9).coerceAtLeast(9))
+    }
+
+    private fun ItemStack?.isNotEmpty(): Boolean {
+        return this != null && !isAir
+    }
+
+    private fun writeVarInt(out: OutputStream, value: Int) {
+        var i = value
+        while (i and -128 != 0) {
+            out.write(i and 127 or 128)
+            i = i ushr 7
+        }
+        out.write(i)
+    }
+
+    private fun readVarInt(input: InputStream): Int {
+        var value = 0
+        var position = 0
+        while (true) {
+            val byte = input.read()
+            if (byte == -1) {
+                throw EOFException()
+            }
+            value = value or (byte and 127 shl position)
+            if (byte and 128 == 0) {
+                return value
+            }
+            position += 7
+            if (position >= 35) {
+                error("VarInt too big")
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package taboolib.module.nms
+
+import org.bukkit.inventory.ItemStack
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 读取物品中指定路径的数据
+ * 直接访问 NMS 物品，不会将整个 NBT 转换为 [ItemTag]
+ *
+ * @param path 要读取的路径，可以包含 "." 来指定嵌套路径，例如 "a.b.c"
+ * @param onlyCustom 是否仅包含自定义数据（详见 1.20.5+ NBT 改动，在 1.20.4 及以下版本此参数无效）
+ */
+fun ItemStack.getItemTagData(path: String, onlyCustom: Boolean = true): ItemTagData? {
+    return ItemTagView(this, onlyCustom)[path]
+}
+
+/**
+ * 物品中是否存在指定路径的数据
+ */
+fun ItemStack.hasItemTagData(path: String, onlyCustom: Boolean = true): Boolean {
+    return ItemTagView(this, onlyCustom).contains(path)
+}
+
+/**
+ * 获取物品的 [ItemTagView]，用于对同一物品进行多次读写
+ */
+fun ItemStack.itemTagView(onlyCustom: Boolean = true): ItemTagView {
+    return ItemTagView(this, onlyCustom)
+}
+
+/**
+ * 基于路径的物品 NBT 访问
+ *
+ * 与 [getItemTag] 不同，读写均直接在 NMS 物品上进行，仅转换路径末端的数据。
+ * 读取时若物品为 CraftItemStack 则直接访问其内部实例，否则在首次访问时创建一份 NMS 副本并缓存；
+ * 首次写入时创建 NMS 副本，之后的读写均在该副本上进行，需要通过 [saveTo] 或 [build] 取回结果。
+ *
+ * 适用于点击、伤害等高频事件中的物品检查，例如：
+ * ```
+ * val view = item.itemTagView()
+ * if (view.getString("mymod.id") == "sword") {
+ *     val level = view.getInt("mymod.level")
+ * }
+ * ```
+ *
+ * 该类不是线程安全的，在读取期间不应修改原物品。
+ *
+ * TabooLib
+ * taboolib.module.nms.ItemTagView
+ *
+ * @since 2026/10/19 18:20
+ */
+class ItemTagView(val itemStack: ItemStack, val onlyCustom: Boolean = true) {
+
+    /** 当前访问的 NMS 物品 */
+    private var nmsItem: Any? = null
+
+    /** [nmsItem] 是否为副本 */
+    private var copied = false
+
+    /** 是否发生过写入 */
+    var isModified = false
+        private set
+
+    /**
+     * 读取指定路径的数据
+     *
+     * @param path 要读取的路径，可以包含 "." 来指定嵌套路径
+     * @return 指定路径对应的数据，如果不存在则返回 null
+     */
+    operator fun get(path: String): ItemTagData? {
+        return NMSItemTag.instance.getItemTagData(handle(), splitPath(path), onlyCustom)
+    }
+
+    /**
+     * 写入指定路径的数据
+     * [UUID] 与 [Boolean] 会以字符串形式写入，与 [ItemTag.set] 一致
+     *
+     * @param path 要写入的路径，可以包含 "." 来指定嵌套路径
+     * @param value 要写入的值，如果为 null 则删除该路径
+     */
+    operator fun set(path: String, value: Any?) {
+        val data = when (value) {
+            null -> null
+            is UUID, is Boolean -> ItemTagData(value.toString())
+            else -> ItemTagData.toNBT(value)
+        }
+        nmsItem = NMSItemTag.instance.setItemTagData(copy(), splitPath(path), data, onlyCustom)
+        isModified = true
+    }
+
+    /**
+     * 删除指定路径的数据
+     */
+    fun remove(path: String) {
+        set(path, null)
+    }
+
+    /**
+     * 是否存在指定路径的数据
+     */
+    operator fun contains(path: String): Boolean {
+        return get(path) != null
+    }
+
+    fun getString(path: String): String? {
+        return get(path)?.asString()
+    }
+
+    fun getString(path: String, def: String): String {
+        return get(path)?.asString() ?: def
+    }
+
+    fun getInt(path: String): Int? {
+        return get(path)?.asInt()
+    }
+
+    fun getInt(path: String, def: Int): Int {
+        return get(path)?.asInt() ?: def
+    }
+
+    fun getLong(path: String): Long? {
+        return get(path)?.asLong()
+    }
+
+    fun getLong(path: String, def: Long): Long {
+        return get(path)?.asLong() ?: def
+    }
+
+    fun getDouble(path: String): Double? {
+        return get(path)?.asDouble()
+    }
+
+    fun getDouble(path: String, def: Double): Double {
+        return get(path)?.asDouble() ?: def
+    }
+
+    fun getFloat(path: String): Float? {
+        return get(path)?.asFloat()
+    }
+
+    fun getFloat(path: String, def: Float): Float {
+        return get(path)?.asFloat() ?: def
+    }
+
+    fun getShort(path: String): Short? {
+        return get(path)?.asShort()
+    }
+
+    fun getShort(path: String, def: Short): Short {
+        return get(path)?.asShort() ?: def
+    }
+
+    fun getByte(path: String): Byte? {
+        return get(path)?.asByte()
+    }
+
+    fun getByte(path: String, def: Byte): Byte {
+        return get(path)?.asByte() ?: def
+    }
+
+    /**
+     * 读取为 [Boolean]
+     * 兼容以字符串形式（TabooLib）与字节形式（原版）保存的数据
+     */
+    fun getBoolean(path: String, def: Boolean = false): Boolean {
+        val data = get(path) ?: return def
+        return if (data.type == ItemTagType.STRING) data.asString().toBoolean() else data.asInt() != 0
+    }
+
+    fun getUUID(path: String): UUID? {
+        return getString(path)?.let { UUID.fromString(it) }
+    }
+
+    fun getStringList(path: String): List<String> {
+        return get(path)?.asList()?.map { it.asString() } ?: emptyList()
+    }
+
+    /**
+     * 将写入的结果应用到物品上
+     * 注意，此方法会修改传入的物品，未发生写入时不做任何操作
+     *
+     * @param item 要写入的物品，默认为原物品
+     * @return 传入的物品
+     */
+    fun saveTo(item: ItemStack = itemStack): ItemStack {
+        if (isModified) {
+            item.itemMeta = build().itemMeta
+        }
+        return item
+    }
+
+    /**
+     * 获取写入后的新物品（不会改变原物品）
+     */
+    fun build(): ItemStack {
+        return if (isModified) NMSItemTag.asBukkitCopy(nmsItem!!) else itemStack.clone()
+    }
+
+    private fun handle(): Any {
+        return nmsItem ?: NMSItemTag.instance.getNMSHandle(itemStack).also { nmsItem = it }
+    }
+
+    private fun copy(): Any {
+        if (!copied) {
+            nmsItem = NMSItemTag.asNMSCopy(itemStack)
+            copied = true
+        }
+        return nmsItem!!
+    }
+
+    companion object {
+
+        /** 路径缓存，路径通常为常量 */
+        private val pathCache = ConcurrentHashMap<String, List<String>>()
+
+        /**
+         * 将路径按 "." 分层
+         */
+        fun splitPath(path: String): List<String> {
+            if (path.indexOf('.') == -1) {
+                return listOf(path)
+            }
+            pathCache[path]?.let { return it }
+            // 防止动态路径导致缓存无限增长
+            if (pathCache.size >= 1024) {
+                pathCache.clear()
+            }
+            return path.split('.').also { pathCache[path] = it }
+        }
+    }
+}
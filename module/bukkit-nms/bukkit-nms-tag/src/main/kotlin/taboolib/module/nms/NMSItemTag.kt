@@ -57,6 +57,33 @@ abstract class NMSItemTag {
     /** 将 NMS [ItemStack] 转换为 Bukkit [ItemStack] */
     abstract fun getBukkitCopy(itemStack: Any): ItemStack
 
+    /**
+     * 获取物品的 NMS 实例
+     * 若物品为 CraftItemStack 则直接返回其内部实例而不复制，因此仅可用于读取
+     */
+    abstract fun getNMSHandle(itemStack: ItemStack): Any
+
+    /**
+     * 读取 NMS 物品中指定路径的数据，仅转换路径末端的数据
+     *
+     * @param nmsItem NMS 物品
+     * @param path 分层后的路径，例如 "a.b.c" 对应 [a, b, c]
+     * @param onlyCustom 是否仅包含自定义数据（详见 1.20.5+ NBT 改动，在 1.20.4 及以下版本此参数无效）
+     * @return 指定路径对应的数据，如果不存在则返回 null
+     */
+    abstract fun getItemTagData(nmsItem: Any, path: List<String>, onlyCustom: Boolean): ItemTagData?
+
+    /**
+     * 向 NMS 物品中指定路径写入数据，路径中不存在的复合类型会被自动创建
+     *
+     * @param nmsItem NMS 物品，必须是副本（见 [getNMSCopy]）
+     * @param path 分层后的路径，例如 "a.b.c" 对应 [a, b, c]
+     * @param value 要写入的数据，如果为 null 则删除该路径
+     * @param onlyCustom 是否仅包含自定义数据（详见 1.20.5+ NBT 改动，在 1.20.4 及以下版本此参数无效）
+     * @return 写入后的 NMS 物品，可能是新的实例
+     */
+    abstract fun setItemTagData(nmsItem: Any, path: List<String>, value: ItemTagData?, onlyCustom: Boolean): Any
+
     /** 获取物品 [ItemTag] */
     abstract fun getItemTag(itemStack: ItemStack, onlyCustom: Boolean): ItemTag
 
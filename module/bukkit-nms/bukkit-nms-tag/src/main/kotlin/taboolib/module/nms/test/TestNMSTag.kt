@@ -4,8 +4,14 @@ import org.bukkit.Material
 import org.bukkit.inventory.ItemStack
 import org.bukkit.inventory.meta.ItemMeta
 import taboolib.common.Test
+import taboolib.module.nms.ItemStackCodec
 import taboolib.module.nms.ItemTag
+import taboolib.module.nms.deserializeBinaryToInventory
+import taboolib.module.nms.deserializeBinaryToItemStack
 import taboolib.module.nms.getItemTag
+import taboolib.module.nms.getItemTagData
+import taboolib.module.nms.itemTagView
+import taboolib.module.nms.serializeToBinary
 import taboolib.module.nms.setItemTag
 import taboolib.platform.util.modifyMeta
 
@@ -23,6 +29,31 @@ object TestNMSTag : Test() {
         var itemTag: ItemTag? = null
         result += sandbox("NMS:getItemTag") { itemTag = item().getItemTag() }
         result += sandbox("NMS:setItemTag") { item().setItemTag(itemTag ?: ItemTag.empty()) }
+        result += sandbox("NMS:itemTagView") {
+            val item = item().itemTagView().also { it["test.value"] = 1 }.saveTo()
+            if (item.getItemTagData("test.value")?.asInt() != 1) {
+                error("test.value != 1")
+            }
+        }
+        result += sandbox("NMS:ItemStackCodec") {
+            val item = item()
+            if (item.serializeToBinary().deserializeBinaryToItemStack() != item) {
+                error("item != decoded")
+            }
+            if (item.serializeToBinary(compress = true).deserializeBinaryToItemStack() != item) {
+                error("item != decoded (compressed)")
+            }
+            // 非 9 的倍数（玩家背包）
+            val items = (0 until 41).map { if (it % 3 == 0) item() else null }
+            if (ItemStackCodec.decodeItems(ItemStackCodec.encode(items)) != items) {
+                error("items != decoded")
+            }
+            val inventory = ItemStackCodec.createInventory(items.size)
+            items.forEachIndexed { slot, it -> inventory.setItem(slot, it) }
+            if (inventory.serializeToBinary(41).deserializeBinaryToInventory().contents.take(41) != items) {
+                error("inventory != decoded")
+            }
+        }
         return result
     }
 
@@ -32,6 +32,10 @@ public class LightInjectorImpl extends LightInjector {
 
     @Override
     protected @Nullable Object onPacketReceiveAsync(@Nullable Player sender, @NotNull Channel channel, @NotNull Object packet) {
+        // 当前插件不关心该数据包时直接转发
+        if (!ProtocolHandler.INSTANCE.isListening(packet.getClass())) {
+            return ProtocolHandler.INSTANCE.handlePacket(ProtocolHandler.PACKET_RECEIVE, sender, channel, packet);
+        }
         if (sender != null) {
             PacketReceiveEvent event = new PacketReceiveEvent(sender, new PacketImpl(packet));
             if (event.callIf()) {
@@ -51,6 +55,10 @@ public class LightInjectorImpl extends LightInjector {
 
     @Override
     protected @Nullable Object onPacketSendAsync(@Nullable Player receiver, @NotNull Channel channel, @NotNull Object packet) {
+        // 当前插件不关心该数据包时直接转发
+        if (!ProtocolHandler.INSTANCE.isListening(packet.getClass())) {
+            return ProtocolHandler.INSTANCE.handlePacket(ProtocolHandler.PACKET_SEND, receiver, channel, packet);
+        }
         if (receiver != null) {
             PacketSendEvent event = new PacketSendEvent(receiver, new PacketImpl(packet));
             if (event.callIf()) {
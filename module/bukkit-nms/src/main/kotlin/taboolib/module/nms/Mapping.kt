@@ -1,6 +1,7 @@
 package taboolib.module.nms
 
 import com.google.gson.JsonParser
+import taboolib.common.BinaryCache
 import taboolib.common.PrimitiveIO
 import taboolib.common.env.RuntimeEnv
 import taboolib.common.io.runningResources
@@ -8,6 +9,9 @@ import taboolib.common.platform.function.warning
 import taboolib.common.util.t
 import taboolib.common.util.unsafeLazy
 import taboolib.platform.bukkit.Exchanges
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
 import java.io.InputStream
 import java.util.*
 
@@ -32,6 +36,73 @@ class Mapping(
     val methods: MutableList<Method> = LinkedList(),
 ) {
 
+    /**
+     * 字段索引 <所在类, 字段>，首次使用时构建
+     * 同一个类中的字段保持原有顺序
+     */
+    val fieldsByOwner: Map<String, List<Field>> by lazy { fields.groupBy { it.path } }
+
+    /**
+     * 函数索引 <所在类, 函数>，首次使用时构建
+     */
+    val methodsByOwner: Map<String, List<Method>> by lazy { methods.groupBy { it.path } }
+
+    /**
+     * 获取类中的所有字段映射
+     */
+    fun fieldsOf(owner: String): List<Field> {
+        return fieldsByOwner[owner] ?: emptyList()
+    }
+
+    /**
+     * 获取类中的所有函数映射
+     */
+    fun methodsOf(owner: String): List<Method> {
+        return methodsByOwner[owner] ?: emptyList()
+    }
+
+    /**
+     * 编码为二进制数据，用于缓存
+     */
+    fun encode(): ByteArray {
+        val out = ByteArrayOutputStream()
+        DataOutputStream(out).use { data ->
+            data.writeInt(BINARY_VERSION)
+            writeMap(data, classMapSpigotS2F)
+            writeMap(data, classMapSpigotToMojang)
+            writeMap(data, classMapMojangToSpigot)
+            // 同一个类的成员连续写入，所在类只写入一次
+            data.writeInt(fieldsByOwner.size)
+            fieldsByOwner.forEach { (owner, list) ->
+                data.writeUTF(owner)
+                data.writeInt(list.size)
+                list.forEach {
+                    data.writeUTF(it.mojangName)
+                    data.writeUTF(it.translateName)
+                }
+            }
+            data.writeInt(methodsByOwner.size)
+            methodsByOwner.forEach { (owner, list) ->
+                data.writeUTF(owner)
+                data.writeInt(list.size)
+                list.forEach {
+                    data.writeUTF(it.mojangName)
+                    data.writeUTF(it.translateName)
+                    data.writeUTF(it.descriptor)
+                }
+            }
+        }
+        return out.toByteArray()
+    }
+
+    private fun writeMap(data: DataOutputStream, map: Map<String, String>) {
+        data.writeInt(map.size)
+        map.forEach { (k, v) ->
+            data.writeUTF(k)
+            data.writeUTF(v)
+        }
+    }
+
     /**
      * 将数据写入 Exchanges 空间
      */
@@ -64,6 +135,59 @@ class Mapping(
     // region spigot/paper/exchange 读取逻辑
     companion object {
 
+        /** 二进制格式版本，结构变更时需递增 */
+        private const val BINARY_VERSION = 1
+
+        /**
+         * 从缓存中读取映射文件，缓存不存在或版本不符时使用 [loader] 读取并写入缓存
+         *
+         * @param name 缓存名称
+         * @param version 映射文件版本，用于判断缓存是否有效
+         */
+        fun cached(name: String, version: String, loader: () -> Mapping): Mapping {
+            val cache = BinaryCache.read("mapping/$name", version) { decode(it) }
+            if (cache != null) {
+                return cache
+            }
+            val mapping = loader()
+            // 空表通常意味着读取失败，不写入缓存
+            if (mapping.fields.isNotEmpty() || mapping.methods.isNotEmpty()) {
+                BinaryCache.save("mapping/$name", version) { mapping.encode() }
+            }
+            return mapping
+        }
+
+        /**
+         * 从二进制数据中读取，见 [encode]
+         */
+        fun decode(bytes: ByteArray): Mapping {
+            val time = System.currentTimeMillis()
+            val mapping = Mapping()
+            DataInputStream(bytes.inputStream()).use { data ->
+                val version = data.readInt()
+                if (version != BINARY_VERSION) {
+                    error("Unsupported mapping cache version $version")
+                }
+                readMap(data, mapping.classMapSpigotS2F)
+                readMap(data, mapping.classMapSpigotToMojang)
+                readMap(data, mapping.classMapMojangToSpigot)
+                repeat(data.readInt()) {
+                    val owner = data.readUTF()
+                    repeat(data.readInt()) { mapping.fields += Field(owner, data.readUTF(), data.readUTF()) }
+                }
+                repeat(data.readInt()) {
+                    val owner = data.readUTF()
+                    repeat(data.readInt()) { mapping.methods += Method(owner, data.readUTF(), data.readUTF(), data.readUTF()) }
+                }
+            }
+            PrimitiveIO.debug("映射表已从缓存中加载，用时 {0} 毫秒。", System.currentTimeMillis() - time)
+            return mapping
+        }
+
+        private fun readMap(data: DataInputStream, map: MutableMap<String, String>) {
+            repeat(data.readInt()) { map[data.readUTF()] = data.readUTF() }
+        }
+
         /**
          * 读取 Spigot 格式的映射文件
          */
@@ -173,10 +173,13 @@ object MinecraftVersion {
                 disablePlugin()
                 throw UnsupportedVersionException()
             }
-            Mapping.spigot(
-                FileInputStream("assets/${current.combined.substring(0, 2)}/${current.combined}"),
-                FileInputStream("assets/${current.fields.substring(0, 2)}/${current.fields}"),
-            ).exchange(Exchanges.MAPPING_SPIGOT)
+            // 以映射文件的数字签名作为缓存版本
+            Mapping.cached("spigot", "${current.combined}-${current.fields}") {
+                Mapping.spigot(
+                    FileInputStream("assets/${current.combined.substring(0, 2)}/${current.combined}"),
+                    FileInputStream("assets/${current.fields.substring(0, 2)}/${current.fields}"),
+                )
+            }.exchange(Exchanges.MAPPING_SPIGOT)
         }
     }
 
@@ -208,7 +211,8 @@ object MinecraftVersion {
         if (Exchanges.MAPPING_PAPER in Exchanges) {
             Mapping.exchange(Exchanges.MAPPING_PAPER)
         } else {
-            Mapping.paper().exchange(Exchanges.MAPPING_PAPER)
+            // 服务端版本（包含构建号）变更时重新读取 reobf.tiny
+            Mapping.cached("paper", Bukkit.getVersion()) { Mapping.paper() }.exchange(Exchanges.MAPPING_PAPER)
         }
     }
 
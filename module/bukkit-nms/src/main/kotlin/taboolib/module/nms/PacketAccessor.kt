@@ -0,0 +1,173 @@
+package taboolib.module.nms
+
+import org.tabooproject.reflex.Reflex
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.Field
+import java.lang.reflect.Modifier
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 数据包字段访问器
+ *
+ * 字段在首次获取时完成重映射与查找，之后通过 [MethodHandle] 直接读写，不再经过名称查找。
+ * 访问器按 (数据包类型, 字段名) 缓存，可在监听器中保存以重复使用：
+ *
+ * ```
+ * val message = PacketAccessor.of(packetClass, "message")
+ *
+ * @SubscribeEvent
+ * fun onSend(e: PacketSendEvent) {
+ *     if (e.packet.source.javaClass == packetClass) {
+ *         val text = message.readObject<String>(e.packet)
+ *     }
+ * }
+ * ```
+ *
+ * TabooLib
+ * taboolib.module.nms.PacketAccessor
+ *
+ * @since 2026/10/19 20:10
+ */
+@Suppress("UNCHECKED_CAST")
+class PacketAccessor private constructor(val packetClass: Class<*>, val field: Field) {
+
+    /** 字段名称（重映射后）*/
+    val name: String = field.name
+
+    /** 字段类型 */
+    val type: Class<*> = field.type
+
+    private val getter: MethodHandle = lookup.unreflectGetter(field)
+
+    /** 无法为 final 字段（例如 record 组件）创建写入句柄时为 null，见 [isWritable] */
+    private val setter: MethodHandle? = try {
+        lookup.unreflectSetter(field)
+    } catch (ex: IllegalAccessException) {
+        null
+    }
+
+    private val objectGetter = getter.asType(MethodType.methodType(Any::class.java, Any::class.java))
+    private val objectSetter = setter?.asType(MethodType.methodType(Void.TYPE, Any::class.java, Any::class.java))
+
+    /** 是否可以通过 [write] 写入 */
+    val isWritable: Boolean
+        get() = objectSetter != null
+
+    private val intGetter by lazy(LazyThreadSafetyMode.PUBLICATION) { typedGetter(Int::class.javaPrimitiveType!!) }
+    private val longGetter by lazy(LazyThreadSafetyMode.PUBLICATION) { typedGetter(Long::class.javaPrimitiveType!!) }
+    private val floatGetter by lazy(LazyThreadSafetyMode.PUBLICATION) { typedGetter(Float::class.javaPrimitiveType!!) }
+    private val doubleGetter by lazy(LazyThreadSafetyMode.PUBLICATION) { typedGetter(Double::class.javaPrimitiveType!!) }
+    private val booleanGetter by lazy(LazyThreadSafetyMode.PUBLICATION) { typedGetter(Boolean::class.javaPrimitiveType!!) }
+
+    /** 读取字段 */
+    fun <T> readObject(packet: Any): T? {
+        return objectGetter.invoke(unwrap(packet)) as T?
+    }
+
+    /** 读取 int 字段 */
+    fun readInt(packet: Any): Int {
+        return intGetter.invoke(unwrap(packet)) as Int
+    }
+
+    /** 读取 long 字段 */
+    fun readLong(packet: Any): Long {
+        return longGetter.invoke(unwrap(packet)) as Long
+    }
+
+    /** 读取 float 字段 */
+    fun readFloat(packet: Any): Float {
+        return floatGetter.invoke(unwrap(packet)) as Float
+    }
+
+    /** 读取 double 字段 */
+    fun readDouble(packet: Any): Double {
+        return doubleGetter.invoke(unwrap(packet)) as Double
+    }
+
+    /** 读取 boolean 字段 */
+    fun readBoolean(packet: Any): Boolean {
+        return booleanGetter.invoke(unwrap(packet)) as Boolean
+    }
+
+    /**
+     * 写入字段，基本类型会自动拆箱
+     *
+     * @throws IllegalStateException 字段不可写入（见 [isWritable]）
+     */
+    fun write(packet: Any, value: Any?) {
+        val setter = objectSetter ?: error("$this is not writable")
+        setter.invoke(unwrap(packet), value)
+    }
+
+    private fun typedGetter(type: Class<*>): MethodHandle {
+        return getter.asType(MethodType.methodType(type, Any::class.java))
+    }
+
+    /** 允许直接传入 [Packet] */
+    private fun unwrap(packet: Any): Any {
+        return if (packet is Packet) packet.source else packet
+    }
+
+    override fun toString(): String {
+        return "PacketAccessor(packetClass=${packetClass.name}, name=$name, type=${type.name})"
+    }
+
+    companion object {
+
+        private val lookup = MethodHandles.lookup()
+
+        /** 访问器缓存，键为数据包类型，值为字段名到访问器的映射（未找到的字段记录为 empty） */
+        private val registry = ConcurrentHashMap<Class<*>, ConcurrentHashMap<String, Optional<PacketAccessor>>>()
+
+        /**
+         * 获取字段访问器
+         *
+         * @param packetClass 数据包类型
+         * @param name 字段名称
+         * @param remap 是否对字段名称进行重映射
+         * @throws NoSuchFieldException 字段不存在
+         */
+        fun of(packetClass: Class<*>, name: String, remap: Boolean = true): PacketAccessor {
+            return getOrNull(packetClass, name, remap) ?: throw NoSuchFieldException("${packetClass.name}#$name")
+        }
+
+        /**
+         * 获取字段访问器，字段不存在或为静态字段时返回 null
+         */
+        fun getOrNull(packetClass: Class<*>, name: String, remap: Boolean = true): PacketAccessor? {
+            val fields = registry.computeIfAbsent(packetClass) { ConcurrentHashMap() }
+            val key = if (remap) name else "!$name"
+            return fields.computeIfAbsent(key) { Optional.ofNullable(resolve(packetClass, name, remap)) }.orElse(null)
+        }
+
+        /**
+         * 沿继承链查找字段，每一层分别进行重映射
+         */
+        private fun resolve(packetClass: Class<*>, name: String, remap: Boolean): PacketAccessor? {
+            var current: Class<*>? = packetClass
+            while (current != null && current != Any::class.java) {
+                var fieldName = name
+                if (remap) {
+                    Reflex.remapper.forEach { fieldName = it.field(current!!.name, fieldName) }
+                }
+                val field = try {
+                    current.getDeclaredField(fieldName)
+                } catch (ex: NoSuchFieldException) {
+                    null
+                }
+                if (field != null) {
+                    if (Modifier.isStatic(field.modifiers)) {
+                        return null
+                    }
+                    field.isAccessible = true
+                    return PacketAccessor(packetClass, field)
+                }
+                current = current.superclass
+            }
+            return null
+        }
+    }
+}
@@ -27,9 +27,7 @@ class PacketImpl(override var source: Any) : Packet() {
             // 如果不是 Paper 服务器则直接返回原名称
             if (!MinecraftVersion.isUniversalCraftBukkit) return name
             // 借助映射表获取并缓存译名
-            if (spigotNameCache.containsKey(fullyName)) {
-                return spigotNameCache[fullyName]!!.orNull()
-            }
+            spigotNameCache[fullyName]?.let { return it.orNull() }
             val find = MinecraftVersion.paperMapping.classMapMojangToSpigot[fullyName]?.substringAfterLast('.')
             if (find == null) {
                 warning(
@@ -48,12 +46,20 @@ class PacketImpl(override var source: Any) : Packet() {
 
     /** 读取字段 */
     override fun <T> read(name: String, remap: Boolean): T? {
-        return source.getProperty<T>(name, remap = remap)
+        // 路径形式（a/b）与无法直接访问的字段交由 Reflex 处理
+        val accessor = if (name.contains('/')) null else PacketAccessor.getOrNull(source.javaClass, name, remap)
+        return if (accessor != null) accessor.readObject(source) else source.getProperty<T>(name, remap = remap)
     }
 
     /** 写入字段 */
     override fun write(name: String, value: Any?, remap: Boolean) {
-        source.setProperty(name, value, remap = remap)
+        // 无法创建写入句柄的字段（例如 record 组件）交由 Reflex 处理
+        val accessor = if (name.contains('/')) null else PacketAccessor.getOrNull(source.javaClass, name, remap)?.takeIf { it.isWritable }
+        if (accessor != null) {
+            accessor.write(source, value)
+        } else {
+            source.setProperty(name, value, remap = remap)
+        }
     }
 
     /** 覆盖原始数据包 */
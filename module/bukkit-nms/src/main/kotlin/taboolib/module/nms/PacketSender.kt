@@ -1,5 +1,6 @@
 package taboolib.module.nms
 
+import org.bukkit.Bukkit
 import org.bukkit.entity.Player
 import org.bukkit.event.player.PlayerJoinEvent
 import org.bukkit.event.player.PlayerQuitEvent
@@ -13,7 +14,10 @@ import taboolib.common.platform.event.SubscribeEvent
 import taboolib.common.platform.function.submit
 import taboolib.common.reflect.ClassHelper
 import java.lang.reflect.Constructor
+import java.util.*
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * TabooLib
@@ -26,12 +30,22 @@ import java.util.concurrent.ConcurrentHashMap
 @PlatformSide(Platform.BUKKIT)
 object PacketSender {
 
-    private val playerConnectionMap = ConcurrentHashMap<String, Any>()
+    /** 客户端限制单个混合包内的数据包数量 */
+    const val MAX_BUNDLE_SIZE = 4096
+
+    private val playerConnectionMap = ConcurrentHashMap<UUID, Any>()
+
+    /** 发送方法，首次发送时解析 */
+    @Volatile
     private var sendPacketMethod: ClassMethod? = null
 
     private var newPacketBundlePacket: Constructor<*>? = null
     private var useMinecraftMethod = false
 
+    /** 等待合并发送的数据包 */
+    private val packetQueue = ConcurrentHashMap<UUID, ConcurrentLinkedQueue<Any>>()
+    private val packetQueueTask = AtomicBoolean()
+
     init {
         try {
             val bundlePacketClass = ClassHelper.getClass("net.minecraft.network.protocol.game.ClientboundBundlePacket")
@@ -65,10 +79,19 @@ object PacketSender {
         // 使用原版方法发送数据包
         // 之前通过 TinyProtocol 的 channel.pipeline().writeAndFlush() 暴力发包会有概率出问题
         val connection = getConnection(player)
-        if (sendPacketMethod == null) {
+        getSendPacketMethod(connection, packet).invoke(connection, packet)
+    }
+
+    /**
+     * 获取发送方法，仅在首次调用时通过 Reflex 按映射名称解析
+     */
+    private fun getSendPacketMethod(connection: Any, packet: Any): ClassMethod {
+        sendPacketMethod?.let { return it }
+        synchronized(this) {
+            sendPacketMethod?.let { return it }
             val reflexClass = ReflexClass.of(connection.javaClass)
             // 1.18 更名为 send 方法
-            sendPacketMethod = if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_18)) {
+            val method = if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_18)) {
                 try {
                     reflexClass.getMethod("send", true, true, packet)
                 } catch (_: NoSuchMethodException) {
@@ -77,34 +100,118 @@ object PacketSender {
             } else {
                 reflexClass.getMethod("sendPacket", true, true, packet)
             }
+            sendPacketMethod = method
+            return method
+        }
+    }
+
+    /**
+     * 合并发送多个数据包
+     *
+     * 1.19.4+ 使用混合包发送，客户端会在同一帧内处理；
+     * 低版本通过 [sendPacket] 逐个发送。
+     *
+     * @param player 玩家
+     * @param packets 数据包实例
+     */
+    fun sendPackets(player: Player, packets: List<Any>) {
+        when (packets.size) {
+            0 -> return
+            1 -> {
+                sendPacket(player, packets[0])
+                return
+            }
+        }
+        if (MinecraftVersion.isBundlePacketSupported && newPacketBundlePacket != null) {
+            if (packets.size <= MAX_BUNDLE_SIZE) {
+                sendPacket(player, createBundlePacket(packets)!!)
+            } else {
+                packets.chunked(MAX_BUNDLE_SIZE).forEach { sendPacket(player, createBundlePacket(it)!!) }
+            }
+            return
+        }
+        packets.forEach { sendPacket(player, it) }
+    }
+
+    /**
+     * 将数据包加入队列，在下一次调度时与同一玩家的其他数据包合并发送，见 [sendPackets]
+     * 适用于计分板、全息、粒子等在同一 tick 内大量发送数据包的场景
+     *
+     * @param player 玩家
+     * @param packet 数据包实例
+     */
+    fun queuePacket(player: Player, packet: Any) {
+        packetQueue.computeIfAbsent(player.uniqueId) { ConcurrentLinkedQueue() }.add(packet)
+        // 首次使用时启动调度器
+        if (packetQueueTask.compareAndSet(false, true)) {
+            submit(period = 1) { flushQueue() }
+        }
+    }
+
+    /**
+     * 立即发送玩家队列中的所有数据包
+     */
+    fun flushQueue(player: Player) {
+        val queue = packetQueue[player.uniqueId] ?: return
+        val packets = drain(queue)
+        if (packets.isNotEmpty()) {
+            sendPackets(player, packets)
+        }
+    }
+
+    /**
+     * 立即发送所有队列中的数据包
+     */
+    fun flushQueue() {
+        if (packetQueue.isEmpty()) {
+            return
+        }
+        val iterator = packetQueue.entries.iterator()
+        while (iterator.hasNext()) {
+            val (uniqueId, queue) = iterator.next()
+            val player = Bukkit.getPlayer(uniqueId)
+            if (player == null) {
+                iterator.remove()
+                continue
+            }
+            val packets = drain(queue)
+            if (packets.isNotEmpty()) {
+                sendPackets(player, packets)
+            }
+        }
+    }
+
+    private fun drain(queue: ConcurrentLinkedQueue<Any>): List<Any> {
+        val packets = ArrayList<Any>()
+        while (true) {
+            packets += queue.poll() ?: break
         }
-        sendPacketMethod!!.invoke(connection, packet)
+        return packets
     }
 
     /**
      * 获取玩家的连接实例，如果不存在则会抛出 [NullPointerException]
      */
     fun getConnection(player: Player): Any {
-        return if (playerConnectionMap.containsKey(player.name)) {
-            playerConnectionMap[player.name]!!
-        } else {
+        return playerConnectionMap[player.uniqueId] ?: run {
             val connection = if (MinecraftVersion.isUniversal) {
                 player.getProperty<Any>("entity/connection")!!
             } else {
                 player.getProperty<Any>("entity/playerConnection")!!
             }
-            playerConnectionMap[player.name] = connection
+            playerConnectionMap[player.uniqueId] = connection
             connection
         }
     }
 
     @SubscribeEvent
     private fun onJoin(e: PlayerJoinEvent) {
-        playerConnectionMap.remove(e.player.name)
+        playerConnectionMap.remove(e.player.uniqueId)
     }
 
     @SubscribeEvent
     private fun onQuit(e: PlayerQuitEvent) {
-        submit(delay = 20) { playerConnectionMap.remove(e.player.name) }
+        packetQueue.remove(e.player.uniqueId)
+        submit(delay = 20) { playerConnectionMap.remove(e.player.uniqueId) }
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,8 @@ import taboolib.common.platform.function.getOpenContainers
 import taboolib.common.platform.function.pluginId
 import taboolib.platform.BukkitPlugin
 import taboolib.platform.bukkit.Exchanges
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author 坏黑
@@ -38,6 +40,9 @@ object ProtocolHandler : OpenListener {
     // 数据包发送
     const val PACKET_SEND = "packet_send/v1"
 
+    // 数据包过滤器
+    const val PACKET_LISTENER_FILTER = "packet_listener_filter/v1"
+
     /**
      * 使用 LightInjector 作为 TabooLib 数据包实现。
      * 不再对外开放，因为随着版本更新，底层实现可能会变更，在这之前曾使用 TinyProtocol。
@@ -65,6 +70,58 @@ object ProtocolHandler : OpenListener {
      */
     fun updateContainer() {
         containers = getOpenContainers().filter { it.name != pluginId && Exchanges.contains(PACKET_LISTENER + "/plugin/" + it.name) }
+        containerVersion.incrementAndGet()
+        dispatchTable.clear()
+    }
+
+    /**
+     * 过滤器版本，任意插件修改过滤器后递增，用于使分发表失效
+     * 存放于 Exchanges 中，所有插件共享
+     */
+    private val filterVersion by lazy { Exchanges.getOrPut("$PACKET_LISTENER_FILTER/version") { AtomicInteger() } }
+
+    /**
+     * 数据包分发表，记录每种数据包需要转发的插件
+     */
+    private val dispatchTable = ConcurrentHashMap<Class<*>, DispatchEntry>()
+
+    /** OpenContainer 缓存版本，更新 [containers] 后递增 */
+    private val containerVersion = AtomicInteger()
+
+    /**
+     * 声明当前插件关心的数据包，可使用类名、完整类名或 Spigot 译名
+     * 声明后，数据包监听器只会向当前插件分发这些数据包，未声明时接收所有数据包
+     *
+     * ```
+     * ProtocolHandler.listenPacket("PacketPlayInChat", "ServerboundChatPacket")
+     * ```
+     */
+    fun listenPacket(vararg names: String) {
+        val filter = Exchanges.getOrPut<MutableSet<String>>("$PACKET_LISTENER_FILTER/plugin/$pluginId") { ConcurrentHashMap.newKeySet() }
+        filter.addAll(names)
+        filterVersion.incrementAndGet()
+    }
+
+    /**
+     * 声明当前插件关心的数据包
+     */
+    fun listenPacket(vararg classes: Class<*>) {
+        listenPacket(*classes.map { it.name }.toTypedArray())
+    }
+
+    /**
+     * 移除当前插件的数据包过滤器，恢复接收所有数据包
+     */
+    fun resetPacketFilter() {
+        Exchanges["$PACKET_LISTENER_FILTER/plugin/$pluginId"] = null
+        filterVersion.incrementAndGet()
+    }
+
+    /**
+     * 当前插件是否关心该类型的数据包，用于跳过本插件的事件分发
+     */
+    fun isListening(packetClass: Class<*>): Boolean {
+        return getDispatchEntry(packetClass).local
     }
 
     /**
@@ -77,10 +134,20 @@ object ProtocolHandler : OpenListener {
      * @return 返回值将会替换原始数据包，如果为 null 则表示已被拦截
      */
     fun handlePacket(method: String, sender: Player?, channel: Channel, packet: Any): Any? {
+        if (containers.isEmpty()) {
+            return packet
+        }
+        val targets = getDispatchEntry(packet.javaClass).targets
+        if (targets.isEmpty()) {
+            return packet
+        }
         var current = packet
         var isCancelled = false
-        containers.forEach {
-            val result = it.call(method, arrayOf(sender, channel, current))
+        // 参数数组在插件之间复用
+        val data = arrayOf<Any?>(sender, channel, current)
+        for (container in targets) {
+            data[2] = current
+            val result = container.call(method, data)
             if (result.isSuccessful) {
                 current = result.value ?: current
             } else {
@@ -91,6 +158,52 @@ object ProtocolHandler : OpenListener {
         return if (isCancelled) null else current
     }
 
+    /**
+     * 获取数据包的分发信息，过滤器变更后重新计算
+     */
+    private fun getDispatchEntry(packetClass: Class<*>): DispatchEntry {
+        val filter = filterVersion.get()
+        val container = containerVersion.get()
+        val cached = dispatchTable[packetClass]
+        if (cached != null && cached.filterVersion == filter && cached.containerVersion == container) {
+            return cached
+        }
+        val names = getPacketNames(packetClass)
+        val entry = DispatchEntry(filter, container, containers.filter { isListening(it.name, names) }.toTypedArray(), isListening(pluginId, names))
+        // 计算期间过滤器或插件发生变化时不写入，即使写入也会因版本不符而在下次读取时重新计算
+        if (filterVersion.get() == filter && containerVersion.get() == container) {
+            dispatchTable[packetClass] = entry
+        }
+        return entry
+    }
+
+    /**
+     * 插件是否关心该数据包，未声明过滤器时视为关心所有数据包
+     */
+    private fun isListening(plugin: String, names: List<String>): Boolean {
+        val filter = Exchanges.get<Set<String>?>("$PACKET_LISTENER_FILTER/plugin/$plugin") ?: return true
+        return names.any { it in filter }
+    }
+
+    /**
+     * 获取数据包的所有可用名称：类名、完整类名以及 Paper 环境下的 Spigot 译名
+     */
+    private fun getPacketNames(packetClass: Class<*>): List<String> {
+        val names = arrayListOf(packetClass.simpleName, packetClass.name)
+        if (MinecraftVersion.isUniversalCraftBukkit) {
+            MinecraftVersion.paperMapping.classMapMojangToSpigot[packetClass.name]?.let { names += it.substringAfterLast('.') }
+        }
+        return names
+    }
+
+    /**
+     * @param filterVersion 计算时的过滤器版本
+     * @param containerVersion 计算时的 OpenContainer 缓存版本
+     * @param targets 需要转发的插件
+     * @param local 当前插件是否关心
+     */
+    private class DispatchEntry(val filterVersion: Int, val containerVersion: Int, val targets: Array<OpenContainer>, val local: Boolean)
+
 
     /**
      * 当前插件是否监听了数据包事件
@@ -144,6 +257,10 @@ object ProtocolHandler : OpenListener {
         if (TabooLib.isStopped() || !isBukkitServerRunning) {
             return
         }
+        // 移除数据包过滤器
+        if (Exchanges.contains("$PACKET_LISTENER_FILTER/plugin/$pluginId")) {
+            resetPacketFilter()
+        }
         if (instance != null) {
             // 注销数据包监听器
             instance?.close()
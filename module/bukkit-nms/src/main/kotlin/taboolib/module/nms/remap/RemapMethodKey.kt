@@ -0,0 +1,79 @@
+package taboolib.module.nms.remap
+
+/**
+ * 方法重映射缓存的键
+ *
+ * 查询时复用线程内的键对象，直接比较参数对象的类型，不产生字符串拼接；
+ * 写入缓存前通过 [copy] 生成仅保存参数类型的副本。
+ *
+ * TabooLib
+ * taboolib.module.nms.remap.RemapMethodKey
+ *
+ * @since 2026/10/19 20:40
+ */
+class RemapMethodKey private constructor() {
+
+    private var owner = ""
+    private var method = ""
+
+    /** 查询时为参数对象，副本中为参数类型 */
+    private var parameter: Array<out Any?> = emptyArray()
+    private var isCopy = false
+    private var hash = 0
+
+    private fun typeAt(index: Int): Class<*>? {
+        return if (isCopy) parameter[index] as Class<*>? else parameter[index]?.javaClass
+    }
+
+    private fun set(owner: String, method: String, parameter: Array<out Any?>): RemapMethodKey {
+        this.owner = owner
+        this.method = method
+        this.parameter = parameter
+        var hash = owner.hashCode() * 31 + method.hashCode()
+        for (index in parameter.indices) {
+            hash = hash * 31 + (typeAt(index)?.hashCode() ?: 0)
+        }
+        this.hash = hash
+        return this
+    }
+
+    /** 生成可写入缓存的副本 */
+    fun copy(): RemapMethodKey {
+        val key = RemapMethodKey()
+        key.owner = owner
+        key.method = method
+        key.parameter = Array(parameter.size) { typeAt(it) }
+        key.isCopy = true
+        key.hash = hash
+        return key
+    }
+
+    /** 释放对参数对象的引用 */
+    fun release() {
+        parameter = emptyArray()
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is RemapMethodKey) return false
+        if (hash != other.hash || owner != other.owner || method != other.method || parameter.size != other.parameter.size) return false
+        for (index in parameter.indices) {
+            if (typeAt(index) != other.typeAt(index)) return false
+        }
+        return true
+    }
+
+    override fun hashCode(): Int {
+        return hash
+    }
+
+    companion object {
+
+        private val probe = ThreadLocal.withInitial { RemapMethodKey() }
+
+        /** 获取当前线程的查询键，使用后需调用 [release] */
+        fun probe(owner: String, method: String, parameter: Array<out Any?>): RemapMethodKey {
+            return probe.get().set(owner, method, parameter)
+        }
+    }
+}
@@ -30,12 +30,41 @@ abstract class RemapReflex : ReflexRemapper {
     val spigotMapping = MinecraftVersion.spigotMapping
     val paperMapping = MinecraftVersion.paperMapping
 
+    /** 方法重映射的本地缓存，查询时不产生额外对象 */
+    private val methodKeyCacheMap = ConcurrentHashMap<RemapMethodKey, String>()
+
     init {
         if (isDevelopmentMode) {
             newFile(getDataFolder(), ".dev/remap.txt").delete()
         }
     }
 
+    /**
+     * 从本地缓存中获取方法重映射结果，不存在时通过 [resolve] 获取并写入缓存
+     */
+    inline fun cachedMethod(name: String, method: String, parameter: Array<out Any?>, resolve: () -> String): String {
+        val probe = RemapMethodKey.probe(name, method, parameter)
+        val cached = getCachedMethod(probe)
+        if (cached != null) {
+            probe.release()
+            return cached
+        }
+        // 在解析前生成副本，避免解析过程中复用查询键
+        val key = probe.copy()
+        probe.release()
+        val value = resolve()
+        putCachedMethod(key, value)
+        return value
+    }
+
+    fun getCachedMethod(key: RemapMethodKey): String? {
+        return methodKeyCacheMap[key]
+    }
+
+    fun putCachedMethod(key: RemapMethodKey, value: String) {
+        methodKeyCacheMap[key] = value
+    }
+
     fun saveField(namespace: String, old: String, new: String) {
         fieldRemapCacheMap[namespace] = new
         // 开发者模式下保存映射信息
@@ -25,41 +25,47 @@ class RemapReflexPaper : RemapReflex() {
                 return field
             }
             // 还原
-            val obf = spigotMapping.fields.find { it.path == spigotName && (it.translateName == field || it.mojangName == field) }?.mojangName
+            val obf = spigotMapping.fieldsOf(spigotName).find { it.translateName == field || it.mojangName == field }?.mojangName
             // 重映射
-            val deobf = paperMapping.fields.find { it.path == mojangName && it.mojangName == obf }?.translateName ?: field
+            val deobf = paperMapping.fieldsOf(mojangName).find { it.mojangName == obf }?.translateName ?: field
             saveField(name, field, deobf)
             deobf
         }
     }
 
     override fun method(name: String, method: String, vararg parameter: Any?): String {
-        val namespace = "$name#$method(${parameter.joinToString(",") { it?.javaClass?.name.toString() }})"
-        return if (methodRemapCacheMap.containsKey(namespace)) {
-            methodRemapCacheMap[namespace]!!
-        } else {
-            val (spigotName, mojangName) = matchName(name)
-            if (spigotName == null || mojangName == null) {
-                saveMethod(name, method, method, null)
-                return method
-            }
-            val pArray: Array<Any?> = arrayOf(*parameter)
-            // 还原
-            val findObf = spigotMapping.methods.find {
-                // 判断方法描述符获取准确方法
-                it.path == spigotName && (it.translateName == method || it.mojangName == method) && RemapHelper.checkParameterType(pArray, it.descriptor)
-            }
-            val obf = findObf?.mojangName ?: method
-            // 重映射
-            val findDeobf = paperMapping.methods.find {
-                it.path == mojangName && it.mojangName == obf && RemapHelper.checkParameterType(pArray, it.descriptor)
+        return cachedMethod(name, method, parameter) {
+            val namespace = "$name#$method(${parameter.joinToString(",") { it?.javaClass?.name.toString() }})"
+            if (methodRemapCacheMap.containsKey(namespace)) {
+                methodRemapCacheMap[namespace]!!
+            } else {
+                resolveMethod(name, method, parameter)
             }
-            val deobf = findDeobf?.translateName ?: method
-            saveMethod(name, method, deobf, "${findObf?.descriptor}->${findDeobf?.descriptor} (${parameter.joinToString(",") { p -> p?.javaClass?.name.toString() }})")
-            deobf
         }
     }
 
+    private fun resolveMethod(name: String, method: String, parameter: Array<out Any?>): String {
+        val (spigotName, mojangName) = matchName(name)
+        if (spigotName == null || mojangName == null) {
+            saveMethod(name, method, method, null)
+            return method
+        }
+        val pArray: Array<Any?> = arrayOf(*parameter)
+        // 还原
+        val findObf = spigotMapping.methodsOf(spigotName).find {
+            // 判断方法描述符获取准确方法
+            (it.translateName == method || it.mojangName == method) && RemapHelper.checkParameterType(pArray, it.descriptor)
+        }
+        val obf = findObf?.mojangName ?: method
+        // 重映射
+        val findDeobf = paperMapping.methodsOf(mojangName).find {
+            it.mojangName == obf && RemapHelper.checkParameterType(pArray, it.descriptor)
+        }
+        val deobf = findDeobf?.translateName ?: method
+        saveMethod(name, method, deobf, "${findObf?.descriptor}->${findDeobf?.descriptor} (${parameter.joinToString(",") { p -> p?.javaClass?.name.toString() }})")
+        return deobf
+    }
+
     /**
      * 这里存在一个潜在问题，与 NMSProxy 不同的是无法确认它来自何种对照表
      * 因此要从两边猜
@@ -18,7 +18,7 @@ class RemapReflexSpigot : RemapReflex() {
                 fieldRemapCacheMap[namespace]!!
             } else {
                 // 还原
-                val value = spigotMapping.fields.find { it.path == name && it.translateName == field }?.mojangName ?: field
+                val value = spigotMapping.fieldsOf(name).find { it.translateName == field }?.mojangName ?: field
                 saveField(name, field, value)
                 value
             }
@@ -29,19 +29,21 @@ class RemapReflexSpigot : RemapReflex() {
     override fun method(name: String, method: String, vararg parameter: Any?): String {
         // 1.18 开始方法混淆
         if (major >= 10) {
-            val namespace = "$name#$method(${parameter.joinToString(",") { it?.javaClass?.name.toString() }})"
-            return if (methodRemapCacheMap.containsKey(namespace)) {
-                methodRemapCacheMap[namespace]!!
-            } else {
-                val pArray: Array<Any?> = arrayOf(*parameter)
-                // 还原
-                val find = spigotMapping.methods.find {
-                    // 判断方法描述符获取准确方法
-                    it.path == name && it.translateName == method && RemapHelper.checkParameterType(pArray, it.descriptor)
+            return cachedMethod(name, method, parameter) {
+                val namespace = "$name#$method(${parameter.joinToString(",") { it?.javaClass?.name.toString() }})"
+                if (methodRemapCacheMap.containsKey(namespace)) {
+                    methodRemapCacheMap[namespace]!!
+                } else {
+                    val pArray: Array<Any?> = arrayOf(*parameter)
+                    // 还原
+                    val find = spigotMapping.methodsOf(name).find {
+                        // 判断方法描述符获取准确方法
+                        it.translateName == method && RemapHelper.checkParameterType(pArray, it.descriptor)
+                    }
+                    val value = find?.mojangName ?: method
+                    saveMethod(name, method, value, find?.descriptor)
+                    value
                 }
-                val value = find?.mojangName ?: method
-                saveMethod(name, method, value, find?.descriptor)
-                value
             }
         }
         return method
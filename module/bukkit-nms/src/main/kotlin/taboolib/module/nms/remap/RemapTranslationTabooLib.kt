@@ -20,7 +20,7 @@ class RemapTranslationTabooLib : RemapTranslation() {
     override fun mapFieldName(owner: String, name: String, descriptor: String): String {
         val ownerName = owner.replace('/', '.')
         // 从 Spigot Mapping 中检索
-        for (spigotField in MinecraftVersion.spigotMapping.fields) {
+        for (spigotField in MinecraftVersion.spigotMapping.fieldsOf(ownerName)) {
             // 类名符合
             if (spigotField.path == ownerName) {
                 // 获取用于在 Mojang Mapping 中检索的名字（已还原为 Mojang Obf）
@@ -32,7 +32,7 @@ class RemapTranslationTabooLib : RemapTranslation() {
                 // 将类名转换为 Mojang Deobf
                 val mojangName = translate(owner).replace('/', '.')
                 // 从 Mojang Mapping 中检索
-                for (mojangField in MinecraftVersion.paperMapping.fields) {
+                for (mojangField in MinecraftVersion.paperMapping.fieldsOf(mojangName)) {
                     if (mojangField.mojangName == obf && mojangField.path == mojangName) {
                         // 最终返回 Mojang Deobf 名
                         return mojangField.translateName
@@ -46,7 +46,7 @@ class RemapTranslationTabooLib : RemapTranslation() {
     override fun mapMethodName(owner: String, name: String, descriptor: String): String {
         val ownerName = owner.replace('/', '.')
         // 从 Spigot Mapping 中检索
-        for (spigotMethod in MinecraftVersion.spigotMapping.methods) {
+        for (spigotMethod in MinecraftVersion.spigotMapping.methodsOf(ownerName)) {
             // 类名符合
             if (spigotMethod.path == ownerName) {
                 // 获取用于在 Mojang Mapping 中检索的名字（已还原为 Mojang Obf）
@@ -60,7 +60,7 @@ class RemapTranslationTabooLib : RemapTranslation() {
                 // 将类名转换为 Mojang Deobf
                 val mojangName = translate(owner).replace('/', '.')
                 // 从 Mojang Mapping 中检索
-                for (mojangMethod in MinecraftVersion.paperMapping.methods) {
+                for (mojangMethod in MinecraftVersion.paperMapping.methodsOf(mojangName)) {
                     if (mojangMethod.mojangName == obf && mojangMethod.path == mojangName && checkParameterType(descriptor, mojangMethod.descriptor)) {
                         // 最终返回 Mojang Deobf 名
                         return mojangMethod.translateName
@@ -1,5 +1,6 @@
 dependencies {
     compileOnly(project(":common"))
+    compileOnly(project(":common-platform-api"))
     compileOnly(project(":module:bukkit-nms"))
     // 服务端
     compileOnly("ink.ptms.core:v12101:12101-minimize:mapped")
@@ -8,4 +9,11 @@ dependencies {
     compileOnly("ink.ptms.core:v11100:11100")
     compileOnly("ink.ptms.core:v10900:10900")
     compileOnly("ink.ptms:nms-all:1.0.0")
+    // 基准测试
+    testImplementation(project(":common"))
+    testImplementation(project(":common-util"))
+    testImplementation(project(":module:bukkit-nms"))
+    testImplementation("ink.ptms.core:v11200:11200-minimize")
+    testImplementation("org.openjdk.jmh:jmh-core:1.37")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
\ No newline at end of file
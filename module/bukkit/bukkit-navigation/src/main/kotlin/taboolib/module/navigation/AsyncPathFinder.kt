@@ -0,0 +1,272 @@
+package taboolib.module.navigation
+
+import org.bukkit.ChunkSnapshot
+import org.bukkit.World
+import org.bukkit.block.Block
+import org.bukkit.event.block.*
+import org.bukkit.event.entity.EntityChangeBlockEvent
+import org.bukkit.event.Event
+import org.bukkit.event.block.Action
+import org.bukkit.event.entity.EntityExplodeEvent
+import org.bukkit.event.player.PlayerInteractEvent
+import org.bukkit.event.world.WorldUnloadEvent
+import org.bukkit.util.Vector
+import taboolib.common.Inject
+import taboolib.common.LifeCycle
+import taboolib.common.platform.Awake
+import taboolib.common.platform.Platform
+import taboolib.common.platform.PlatformSide
+import taboolib.common.platform.event.EventPriority
+import taboolib.common.platform.event.SubscribeEvent
+import taboolib.common.platform.function.isPrimaryThread
+import taboolib.common.platform.function.submit
+import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.math.ceil
+
+/**
+ * 异步寻路
+ *
+ * 在主线程中通过 [BlockSnapshot] 捕获寻路范围内的方块并计算起点，之后在寻路线程中执行 A* 搜索，结果在主线程中返回。
+ * 同一刻内的多次寻路共享区块快照，快照区域内发生方块变动时任务将被标记为失效（[PathTask.isStale]）。
+ *
+ * 寻路线程中会调用 [NodeEntity.getPathfindingMalus] 等方法，重写这些方法时不应访问世界。
+ *
+ * TabooLib
+ * taboolib.module.navigation.AsyncPathFinder
+ *
+ * @since 2026/10/19 21:30
+ */
+@Inject
+@PlatformSide(Platform.BUKKIT)
+object AsyncPathFinder {
+
+    /** 寻路线程 */
+    var executor: ExecutorService = Executors.newFixedThreadPool((Runtime.getRuntime().availableProcessors() / 2).coerceAtLeast(1)) {
+        Thread(it, "TabooLib-PathFinder").apply { isDaemon = true }
+    }
+
+    /** 任务监听方块变动的最长时间（毫秒），超出后不再标记失效 */
+    var keepAlive = TimeUnit.SECONDS.toMillis(30)
+
+    /** 在寻路范围外额外捕获的格数 */
+    var margin = 2
+
+    /** 世界 → 区块 → 监听方块变动的任务 */
+    private val tasks = ConcurrentHashMap<UUID, ConcurrentHashMap<Long, MutableSet<PathTask>>>()
+
+    /** 同一刻内共享的区块快照 */
+    private val chunkCache = HashMap<UUID, HashMap<Long, ChunkSnapshot>>()
+
+    /**
+     * 异步寻路，必须在主线程中调用
+     *
+     * @param entity 寻路实体
+     * @param position 目标位置
+     * @param distance 最大寻路距离
+     * @param reader 创建节点读取器，用于自定义寻路规则
+     */
+    fun findPath(
+        entity: NodeEntity,
+        position: Set<Vector>,
+        distance: Float,
+        distanceManhattan: Int = 1,
+        deep: Float = 1f,
+        reader: (NodeEntity, BlockAccess) -> NodeReader = { e, access -> NodeReader(e, access) },
+    ): PathTask {
+        if (!isPrimaryThread) {
+            error("AsyncPathFinder.findPath must be called from the primary thread")
+        }
+        val world = entity.location.world!!
+        val x = entity.location.blockX
+        val y = entity.location.blockY
+        val z = entity.location.blockZ
+        val range = ceil(distance).toInt()
+        val horizontal = range + ceil(entity.width.coerceAtLeast(entity.depth)).toInt() + margin
+        val snapshot = BlockSnapshot.capture(
+            world,
+            x - horizontal,
+            y - range - entity.getAirSupply() - margin,
+            z - horizontal,
+            x + horizontal,
+            y + range + ceil(entity.height).toInt() + margin,
+            z + horizontal
+        ) { chunkX, chunkZ -> getChunkSnapshot(world, chunkX, chunkZ) }
+        val nodeReader = reader(entity, snapshot)
+        // 起点需要读取实体状态，在主线程中计算
+        val start = nodeReader.getStart()
+        val task = PathTask(snapshot)
+        register(task)
+        CompletableFuture.supplyAsync({
+            if (task.isReleased) null else PathFinder(nodeReader).findPath(start, position, distance, distanceManhattan, deep)
+        }, executor).whenComplete { path, ex ->
+            submit {
+                if (ex != null) {
+                    task.future.completeExceptionally(ex.cause ?: ex)
+                } else {
+                    task.future.complete(path)
+                }
+            }
+        }
+        return task
+    }
+
+    /**
+     * 异步寻路，必须在主线程中调用
+     */
+    fun findPath(entity: NodeEntity, position: Vector, distance: Float, distanceManhattan: Int = 1, deep: Float = 1f): PathTask {
+        return findPath(entity, setOf(position), distance, distanceManhattan, deep)
+    }
+
+    /**
+     * 通知方块变动，使包含该方块的任务与 [PathTypeCache] 失效
+     * 插件自行修改方块（例如通过 NMS）时可以在主线程中调用
+     */
+    fun notifyChange(world: World, x: Int, y: Int, z: Int) {
+        PathTypeCache.invalidate(world, x, y, z)
+        val key = chunkKey(x shr 4, z shr 4)
+        chunkCache[world.uid]?.remove(key)
+        val chunks = tasks[world.uid] ?: return
+        val set = chunks[key] ?: return
+        set.filter { it.snapshot.contains(x, y, z) }.forEach {
+            unregister(it)
+            it.invalidate()
+        }
+    }
+
+    internal fun unregister(task: PathTask) {
+        val snapshot = task.snapshot
+        val chunks = tasks[snapshot.world.uid] ?: return
+        forEachChunk(snapshot) { chunks[it]?.remove(task) }
+    }
+
+    private fun register(task: PathTask) {
+        val chunks = tasks.computeIfAbsent(task.snapshot.world.uid) { ConcurrentHashMap() }
+        forEachChunk(task.snapshot) { chunks.computeIfAbsent(it) { ConcurrentHashMap.newKeySet() } += task }
+    }
+
+    private fun getChunkSnapshot(world: World, chunkX: Int, chunkZ: Int): ChunkSnapshot? {
+        // 在下一刻清空
+        if (chunkCache.isEmpty()) {
+            submit { chunkCache.clear() }
+        }
+        val chunks = chunkCache.computeIfAbsent(world.uid) { HashMap() }
+        val key = chunkKey(chunkX, chunkZ)
+        return chunks[key] ?: ChunkAccess.instance.getChunkSnapshot(world, chunkX, chunkZ)?.also { chunks[key] = it }
+    }
+
+    private inline fun forEachChunk(snapshot: BlockSnapshot, action: (Long) -> Unit) {
+        for (chunkX in snapshot.minX shr 4..snapshot.maxX shr 4) {
+            for (chunkZ in snapshot.minZ shr 4..snapshot.maxZ shr 4) {
+                action(chunkKey(chunkX, chunkZ))
+            }
+        }
+    }
+
+    private fun chunkKey(chunkX: Int, chunkZ: Int): Long {
+        return (chunkX.toLong() shl 32) or (chunkZ.toLong() and 0xFFFFFFFFL)
+    }
+
+    private fun notifyChange(block: Block) {
+        notifyChange(block.world, block.x, block.y, block.z)
+    }
+
+    @Awake(LifeCycle.ENABLE)
+    private fun onEnable() {
+        // 清理超出监听时间的任务
+        submit(period = 200) {
+            val time = System.currentTimeMillis()
+            tasks.values.forEach { chunks ->
+                chunks.values.forEach { set -> set.removeIf { time - it.snapshot.capturedAt > keepAlive } }
+                chunks.values.removeIf { it.isEmpty() }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    private fun onWorldUnload(e: WorldUnloadEvent) {
+        PathTypeCache.remove(e.world)
+        chunkCache.remove(e.world.uid)
+        tasks.remove(e.world.uid)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onBreak(e: BlockBreakEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onPlace(e: BlockPlaceEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onBurn(e: BlockBurnEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onFade(e: BlockFadeEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onForm(e: BlockFormEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onFlow(e: BlockFromToEvent) {
+        notifyChange(e.toBlock)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onEntityChange(e: EntityChangeBlockEvent) {
+        notifyChange(e.block)
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onBlockExplode(e: BlockExplodeEvent) {
+        e.blockList().forEach { notifyChange(it) }
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onEntityExplode(e: EntityExplodeEvent) {
+        e.blockList().forEach { notifyChange(it) }
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR)
+    private fun onInteract(e: PlayerInteractEvent) {
+        // 开关门、栅栏门与活板门
+        val block = e.clickedBlock ?: return
+        if (e.action == Action.RIGHT_CLICK_BLOCK && e.useInteractedBlock() != Event.Result.DENY && block.type.isOpenable()) {
+            notifyChange(block)
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR)
+    private fun onRedstone(e: BlockRedstoneEvent) {
+        if (e.oldCurrent != e.newCurrent) {
+            notifyChange(e.block)
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onPistonExtend(e: BlockPistonExtendEvent) {
+        notifyChange(e.block)
+        e.blocks.forEach {
+            notifyChange(it)
+            notifyChange(it.getRelative(e.direction))
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private fun onPistonRetract(e: BlockPistonRetractEvent) {
+        notifyChange(e.block)
+        e.blocks.forEach { notifyChange(it) }
+    }
+}
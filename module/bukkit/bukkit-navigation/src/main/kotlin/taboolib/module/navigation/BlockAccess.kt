@@ -0,0 +1,53 @@
+package taboolib.module.navigation
+
+import org.bukkit.Material
+import org.bukkit.World
+
+/**
+ * 寻路过程中对方块的访问
+ *
+ * [NodeReader] 与 [PathTypeFactory] 仅通过该接口读取方块，
+ * 默认实现 [WorldBlockAccess] 直接访问世界（仅限主线程），[BlockSnapshot] 则读取预先捕获的区域快照（任意线程）。
+ *
+ * TabooLib
+ * taboolib.module.navigation.BlockAccess
+ *
+ * @since 2026/10/19 21:00
+ */
+interface BlockAccess {
+
+    /**
+     * 获取方块类型
+     *
+     * @return 方块类型，区块未加载（或不在快照范围内）时返回 null
+     */
+    fun getType(x: Int, y: Int, z: Int): Material?
+
+    /**
+     * 门、栅栏门是否处于打开状态
+     */
+    fun isOpened(x: Int, y: Int, z: Int): Boolean
+
+    /**
+     * 获取方块高度（碰撞箱顶部相对于方块底部的高度），非实体方块为 0
+     */
+    fun getBlockHeight(x: Int, y: Int, z: Int): Double
+}
+
+/**
+ * 直接访问世界的 [BlockAccess]
+ */
+class WorldBlockAccess(val world: World) : BlockAccess {
+
+    override fun getType(x: Int, y: Int, z: Int): Material? {
+        return if (ChunkAccess.instance.isChunkLoaded(world, x shr 4, z shr 4)) world.getBlockAt(x, y, z).type else null
+    }
+
+    override fun isOpened(x: Int, y: Int, z: Int): Boolean {
+        return world.getBlockAt(x, y, z).isOpened()
+    }
+
+    override fun getBlockHeight(x: Int, y: Int, z: Int): Double {
+        return NMS.instance.getBlockHeight(world.getBlockAt(x, y, z))
+    }
+}
@@ -0,0 +1,155 @@
+package taboolib.module.navigation
+
+import org.bukkit.ChunkSnapshot
+import org.bukkit.Material
+import org.bukkit.World
+import org.bukkit.block.data.Openable
+import taboolib.module.nms.MinecraftVersion
+import java.util.*
+
+/**
+ * 方块区域快照
+ *
+ * 在主线程中通过 [ChunkAccess] 捕获指定区域内寻路所需的方块信息，之后可以在任意线程中读取。
+ * 每个方块仅占用 2 字节（方块类型），门的打开状态与非完整方块的高度单独存储。
+ * 区域外的方块视为未加载。
+ *
+ * TabooLib
+ * taboolib.module.navigation.BlockSnapshot
+ *
+ * @since 2026/10/19 21:10
+ */
+class BlockSnapshot private constructor(
+    val world: World,
+    val minX: Int,
+    val minY: Int,
+    val minZ: Int,
+    val maxX: Int,
+    val maxY: Int,
+    val maxZ: Int,
+) : BlockAccess {
+
+    private val sizeY = maxY - minY + 1
+    private val sizeZ = maxZ - minZ + 1
+
+    /** 方块类型（Material 序号 + 1），0 表示未加载 */
+    private val types = ShortArray((maxX - minX + 1) * sizeY * sizeZ)
+
+    /** 处于打开状态的门 */
+    private val opened = BitSet()
+
+    /** 非完整实体方块的高度，完整方块为 1，非实体方块为 0 */
+    private val heights = HashMap<Int, Double>()
+
+    /** 捕获时间 */
+    val capturedAt = System.currentTimeMillis()
+
+    /** 捕获时间（[System.nanoTime]），用于写入 [PathTypeCache] */
+    val captureTime = System.nanoTime()
+
+    /**
+     * 是否在快照范围内
+     */
+    fun contains(x: Int, y: Int, z: Int): Boolean {
+        return x in minX..maxX && y in minY..maxY && z in minZ..maxZ
+    }
+
+    override fun getType(x: Int, y: Int, z: Int): Material? {
+        if (!contains(x, y, z)) {
+            return null
+        }
+        val id = types[index(x, y, z)].toInt()
+        return if (id == 0) null else materials[id - 1]
+    }
+
+    override fun isOpened(x: Int, y: Int, z: Int): Boolean {
+        return contains(x, y, z) && opened[index(x, y, z)]
+    }
+
+    override fun getBlockHeight(x: Int, y: Int, z: Int): Double {
+        val type = getType(x, y, z) ?: return 0.0
+        if (!type.isSolid) {
+            return 0.0
+        }
+        return heights[index(x, y, z)] ?: 1.0
+    }
+
+    private fun index(x: Int, y: Int, z: Int): Int {
+        return ((x - minX) * sizeZ + (z - minZ)) * sizeY + (y - minY)
+    }
+
+    private fun capture(chunks: (Int, Int) -> ChunkSnapshot?) {
+        val minHeight = if (MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_17)) world.minHeight else 0
+        val maxHeight = world.maxHeight
+        for (chunkX in minX shr 4..maxX shr 4) {
+            for (chunkZ in minZ shr 4..maxZ shr 4) {
+                if (!ChunkAccess.instance.isChunkLoaded(world, chunkX, chunkZ)) {
+                    continue
+                }
+                // 1.13 以下版本的区块快照无法获取 Material，直接读取世界
+                val snapshot = if (useSnapshot) chunks(chunkX, chunkZ) ?: continue else null
+                for (x in (chunkX shl 4).coerceAtLeast(minX)..((chunkX shl 4) + 15).coerceAtMost(maxX)) {
+                    for (z in (chunkZ shl 4).coerceAtLeast(minZ)..((chunkZ shl 4) + 15).coerceAtMost(maxZ)) {
+                        for (y in minY..maxY) {
+                            val index = index(x, y, z)
+                            // 超出世界高度的方块视为空气
+                            if (y < minHeight || y >= maxHeight) {
+                                types[index] = (Material.AIR.ordinal + 1).toShort()
+                                continue
+                            }
+                            val type = snapshot?.getBlockType(x and 15, y, z and 15) ?: world.getBlockAt(x, y, z).type
+                            types[index] = (type.ordinal + 1).toShort()
+                            if (isOpenable(type)) {
+                                val open = if (snapshot != null) {
+                                    (snapshot.getBlockData(x and 15, y, z and 15) as? Openable)?.isOpen == true
+                                } else {
+                                    world.getBlockAt(x, y, z).isOpened()
+                                }
+                                if (open) {
+                                    opened.set(index)
+                                }
+                            }
+                            // 完整方块的高度为 1，其余实体方块在捕获时计算
+                            if (type.isSolid && !type.isOccluding) {
+                                heights[index] = NMS.instance.getBlockHeight(world.getBlockAt(x, y, z))
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    companion object {
+
+        private val materials = Material.values()
+
+        /** 需要记录打开状态的方块 */
+        private val openable = BooleanArray(materials.size) { materials[it].isOpenable() }
+
+        /** 是否通过区块快照读取方块 */
+        private val useSnapshot = MinecraftVersion.isHigherOrEqual(MinecraftVersion.V1_13)
+
+        private fun isOpenable(type: Material): Boolean {
+            return openable[type.ordinal]
+        }
+
+        /**
+         * 捕获指定区域，必须在主线程中调用
+         *
+         * @param chunks 区块快照来源，可以用于在同一刻的多次捕获之间共享区块快照
+         */
+        fun capture(
+            world: World,
+            minX: Int,
+            minY: Int,
+            minZ: Int,
+            maxX: Int,
+            maxY: Int,
+            maxZ: Int,
+            chunks: (Int, Int) -> ChunkSnapshot? = { x, z -> ChunkAccess.instance.getChunkSnapshot(world, x, z) },
+        ): BlockSnapshot {
+            return BlockSnapshot(world, minX, minY, minZ, maxX, maxY, maxZ).also { it.capture(chunks) }
+        }
+    }
+}
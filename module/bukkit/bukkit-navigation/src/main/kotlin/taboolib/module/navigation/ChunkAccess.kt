@@ -1,5 +1,6 @@
 package taboolib.module.navigation
 
+import org.bukkit.ChunkSnapshot
 import org.bukkit.World
 
 /**
@@ -13,6 +14,15 @@ abstract class ChunkAccess {
 
     abstract fun isChunkLoaded(world: World, chunkX: Int, chunkZ: Int): Boolean
 
+    /**
+     * 获取区块快照，用于 [BlockSnapshot]
+     * 区块未加载时返回 null，不会加载区块
+     */
+    open fun getChunkSnapshot(world: World, chunkX: Int, chunkZ: Int): ChunkSnapshot? {
+        // 不需要高度图与生物群系
+        return if (isChunkLoaded(world, chunkX, chunkZ)) world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false) else null
+    }
+
     companion object {
 
         var instance = object : ChunkAccess() {
@@ -22,4 +32,4 @@ abstract class ChunkAccess {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package taboolib.module.navigation
+
+/**
+ * 以 Long 为键的开放寻址哈希表
+ *
+ * 键不会被装箱，[clear] 后保留已分配的数组，用于在多次寻路之间复用。
+ * 值不允许为 null，不是线程安全的。
+ *
+ * TabooLib
+ * taboolib.module.navigation.LongObjectMap
+ *
+ * @since 2026/10/19 22:00
+ */
+@Suppress("UNCHECKED_CAST")
+class LongObjectMap<V : Any>(expected: Int = 16) {
+
+    private var keys: LongArray
+    private var values: Array<Any?>
+    private var mask: Int
+
+    /** 元素数量 */
+    var size = 0
+        private set
+
+    init {
+        val capacity = tableSize(expected)
+        keys = LongArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+    }
+
+    operator fun get(key: Long): V? {
+        var index = mix(key) and mask
+        while (true) {
+            val value = values[index] ?: return null
+            if (keys[index] == key) {
+                return value as V
+            }
+            index = (index + 1) and mask
+        }
+    }
+
+    operator fun set(key: Long, value: V) {
+        var index = mix(key) and mask
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                values[index] = value
+                return
+            }
+            index = (index + 1) and mask
+        }
+        keys[index] = key
+        values[index] = value
+        // 负载因子 0.5
+        if (++size > values.size shr 1) {
+            rehash(values.size shl 1)
+        }
+    }
+
+    operator fun contains(key: Long): Boolean {
+        return get(key) != null
+    }
+
+    fun isEmpty(): Boolean {
+        return size == 0
+    }
+
+    /**
+     * 遍历所有值
+     */
+    inline fun forEachValue(action: (V) -> Unit) {
+        for (i in 0 until capacity()) {
+            valueAt(i)?.let(action)
+        }
+    }
+
+    /**
+     * 清空元素，保留已分配的数组
+     */
+    fun clear() {
+        if (size > 0) {
+            values.fill(null)
+            size = 0
+        }
+    }
+
+    @PublishedApi
+    internal fun capacity(): Int {
+        return values.size
+    }
+
+    @PublishedApi
+    internal fun valueAt(index: Int): V? {
+        return values[index] as V?
+    }
+
+    private fun rehash(capacity: Int) {
+        val oldKeys = keys
+        val oldValues = values
+        keys = LongArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+        for (i in oldValues.indices) {
+            val value = oldValues[i] ?: continue
+            var index = mix(oldKeys[i]) and mask
+            while (values[index] != null) {
+                index = (index + 1) and mask
+            }
+            keys[index] = oldKeys[i]
+            values[index] = value
+        }
+    }
+
+    companion object {
+
+        /** 打散哈希值，避免相邻坐标聚集 */
+        internal fun mix(key: Long): Int {
+            return IntObjectMap.mix((key xor (key ushr 32)).toInt())
+        }
+
+        internal fun tableSize(expected: Int): Int {
+            return IntObjectMap.tableSize(expected)
+        }
+    }
+}
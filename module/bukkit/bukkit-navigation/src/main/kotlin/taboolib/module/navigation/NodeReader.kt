@@ -1,5 +1,6 @@
 package taboolib.module.navigation
 
+import org.bukkit.Material
 import org.bukkit.util.NumberConversions
 import org.bukkit.util.Vector
 import taboolib.module.navigation.Fluid.Companion.getFluid
@@ -12,11 +13,17 @@ import kotlin.math.abs
  * @author sky
  * @since 2021/2/21 11:57 下午
  */
-open class NodeReader(val entity: NodeEntity) {
+open class NodeReader @JvmOverloads constructor(
+    val entity: NodeEntity,
+    val access: BlockAccess = WorldBlockAccess(entity.location.world!!),
+) {
 
-    val nodes = HashMap<Int, Node>()
-    val type = HashMap<Long, PathType>()
-    val typeGetter = PathTypeFactory(entity)
+    /** 节点缓存，在多次寻路之间复用 */
+    val nodes = IntObjectMap<Node>(256)
+
+    /** 方块类型缓存，在多次寻路之间复用 */
+    val type = LongObjectMap<PathType>(256)
+    val typeGetter = PathTypeFactory(entity, access)
     val world = entity.location.world!!
 
     open fun done() {
@@ -33,54 +40,62 @@ open class NodeReader(val entity: NodeEntity) {
     }
 
     fun getNode(x: Int, y: Int, z: Int): Node {
-        return nodes.computeIfAbsent(Node.createHash(x, y, z)) { Node(x, y, z) }
+        val hash = Node.createHash(x, y, z)
+        return nodes[hash] ?: Node(x, y, z).also { nodes[hash] = it }
     }
 
     fun getCachedBlockType(x: Int, y: Int, z: Int): PathType {
-        return getCachedBlockType(Vector(x, y, z))
+        val hash = blockHash(x, y, z)
+        return type[hash] ?: typeGetter.getTypeAsBoundingBox(x, y, z).also { type[hash] = it }
     }
 
     fun getCachedBlockType(position: Vector): PathType {
-        return type.computeIfAbsent(position.hash()) {
-            typeGetter.getTypeAsBoundingBox(position.blockX, position.blockY, position.blockZ)
-        }
+        return getCachedBlockType(position.blockX, position.blockY, position.blockZ)
+    }
+
+    /** 与 [Vector.hash] 相同 */
+    private fun blockHash(x: Int, y: Int, z: Int): Long {
+        return x.toLong() and 67108863L shl 38 or (y.toLong() and 4095L) or (z.toLong() and 67108863L shl 12)
     }
 
     /**
      * 获取起点
+     * 会调用 [NodeEntity.isInWater] 与 [NodeEntity.isOnGround]，因此需要在主线程中调用
      */
     fun getStart(): Node {
         val position = Vector(0, 0, 0)
+        val x = entity.location.blockX
+        val z = entity.location.blockZ
         var y = entity.location.blockY
-        var block = world.getBlockAt(position.set(entity.location.blockX, y, entity.location.blockZ))
+        var blockType = access.getType(x, y, z)
         var blockposition: Vector
-        if (!entity.canStandOnFluid(block.getFluid())) {
+        if (!entity.canStandOnFluid(blockType.getFluid())) {
             if (entity.canFloat && entity.isInWater()) {
                 while (true) {
-                    if (!block.isLiquid) {
+                    if (blockType == null || !blockType.isLiquidLegacy()) {
                         --y
                         break
                     }
                     ++y
-                    block = world.getBlockAt(position.set(entity.location.blockX, y, entity.location.blockZ))
+                    blockType = access.getType(x, y, z)
                 }
             } else if (entity.isOnGround()) {
                 y = NumberConversions.floor(entity.location.y + 0.5)
             } else {
                 blockposition = entity.location.toVector()
-                while (!blockposition.toBlock(block.world).type.isSolid && blockposition.y > 0) {
+                while (access.getType(blockposition.blockX, blockposition.blockY, blockposition.blockZ)?.isSolid != true && blockposition.y > 0) {
                     blockposition = blockposition.down()
                 }
                 y = blockposition.up().blockY
             }
         } else {
             while (true) {
-                if (!entity.canStandOnFluid(block.getFluid())) {
+                if (!entity.canStandOnFluid(blockType.getFluid())) {
                     --y
                     break
                 }
                 ++y
-                block = world.getBlockAt(position.set(entity.location.blockX, y, entity.location.blockZ))
+                blockType = access.getType(x, y, z)
             }
         }
         blockposition = entity.location.toVector()
@@ -109,9 +124,8 @@ open class NodeReader(val entity: NodeEntity) {
      * 指最顶层碰撞箱 maxY > 0 的方块
      */
     fun getLandHeight(position: Vector): Double {
-        val block = position.toBlock(world)
-        val blockHeight = NMS.instance.getBlockHeight(block)
-        return if (blockHeight == 0.0) 0.0 else blockHeight + block.y
+        val blockHeight = access.getBlockHeight(position.blockX, position.blockY, position.blockZ)
+        return if (blockHeight == 0.0) 0.0 else blockHeight + position.blockY
     }
 
     /**
@@ -238,8 +252,8 @@ open class NodeReader(val entity: NodeEntity) {
      */
     open fun isNeighborValid(neighbor: Node?, node: Node): Boolean {
         if (neighbor != null && !neighbor.isClosed && (neighbor.costMalus >= 0.0f || node.costMalus < 0.0f)) {
-            val blockHeight = NMS.instance.getBlockHeight(node.asBlockPos().down().toBlock(world)) + node.y - 1
-            val neighborHeight = NMS.instance.getBlockHeight(neighbor.asBlockPos().down().toBlock(world)) + neighbor.y - 1
+            val blockHeight = access.getBlockHeight(node.x, node.y - 1, node.z) + node.y - 1
+            val neighborHeight = access.getBlockHeight(neighbor.x, neighbor.y - 1, neighbor.z) + neighbor.y - 1
             return abs(blockHeight - neighborHeight) < 1.25
         }
         return false
@@ -269,6 +283,10 @@ open class NodeReader(val entity: NodeEntity) {
         }
     }
 
+    private fun Material?.getFluid(): Fluid {
+        return this?.name?.getFluid() ?: Fluid.EMPTY
+    }
+
     open fun getNeighbors(nodes: Array<Node?>, node: Node): Int {
         var neighbors = 0
 //        var j = 0
@@ -26,7 +26,15 @@ class PathFinder(val nodeReader: NodeReader) {
 
     fun findPath(position: Set<Vector>, distance: Float, distanceManhattan: Int = 1, deep: Float = 1f): Path? {
         openSet.clear()
-        val start = nodeReader.getStart()
+        return findPath(nodeReader.getStart(), position, distance, distanceManhattan, deep)
+    }
+
+    /**
+     * 从指定起点开始寻路
+     * 起点需要通过 [NodeReader.getStart] 在主线程中获取，若 [nodeReader] 基于 [BlockSnapshot]，则该方法可以在任意线程中调用
+     */
+    fun findPath(start: Node, position: Set<Vector>, distance: Float, distanceManhattan: Int = 1, deep: Float = 1f): Path? {
+        openSet.clear()
         val map = position.map {
             nodeReader.getGoal(it.x, it.y, it.z) to it
         }
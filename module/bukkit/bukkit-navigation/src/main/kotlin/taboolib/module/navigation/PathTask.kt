@@ -0,0 +1,67 @@
+package taboolib.module.navigation
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * 异步寻路任务，由 [AsyncPathFinder.findPath] 创建
+ *
+ * ```
+ * AsyncPathFinder.findPath(entity, target, 16f).onStale { repath() }.future.thenAccept { path -> move(path) }
+ * ```
+ *
+ * TabooLib
+ * taboolib.module.navigation.PathTask
+ *
+ * @since 2026/10/19 21:20
+ */
+class PathTask(val snapshot: BlockSnapshot) {
+
+    /** 寻路结果，在主线程中完成，无法到达时为 null */
+    val future = CompletableFuture<Path?>()
+
+    /** 快照区域内是否发生了方块变动 */
+    @Volatile
+    var isStale = false
+        private set
+
+    /** 是否已释放 */
+    @Volatile
+    var isReleased = false
+        private set
+
+    private val staleCallbacks = CopyOnWriteArrayList<Runnable>()
+
+    /**
+     * 快照区域内发生方块变动时（主线程）执行回调，此时路径可能已不再有效
+     * 任务已失效时立即执行
+     */
+    fun onStale(callback: Runnable): PathTask {
+        if (isStale) {
+            callback.run()
+        } else {
+            staleCallbacks += callback
+        }
+        return this
+    }
+
+    /**
+     * 释放任务，不再监听方块变动
+     * 寻路尚未完成时将被取消
+     */
+    fun release() {
+        if (!isReleased) {
+            isReleased = true
+            future.cancel(false)
+            AsyncPathFinder.unregister(this)
+        }
+    }
+
+    internal fun invalidate() {
+        if (!isStale && !isReleased) {
+            isStale = true
+            staleCallbacks.forEach { it.run() }
+            staleCallbacks.clear()
+        }
+    }
+}
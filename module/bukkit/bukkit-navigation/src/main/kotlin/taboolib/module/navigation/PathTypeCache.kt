@@ -0,0 +1,145 @@
+package taboolib.module.navigation
+
+import org.bukkit.World
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * 世界级的方块类型缓存
+ *
+ * 缓存 [PathTypeFactory.getTypeAsWalkable] 的结果，该结果仅与方块有关而与实体无关，
+ * 因此同一区域内寻路的多个实体可以共享这部分计算。
+ * 按 16x16x16 的区域分片存储，每个方块占用 1 字节。
+ *
+ * 仅由 [AsyncPathFinder] 的寻路使用（见 [PathTypeFactory.sharedCache]）。
+ * 方块变动事件（包括门的开关与红石信号，见 [AsyncPathFinder]）会清除变动方块及其相邻方块的缓存；
+ * 未触发事件的变动（例如其他插件直接修改方块）则依靠分片的有效期 [expireTime] 兜底，
+ * 此类插件可以调用 [AsyncPathFinder.notifyChange]。
+ *
+ * TabooLib
+ * taboolib.module.navigation.PathTypeCache
+ *
+ * @since 2026/10/19 22:10
+ */
+class PathTypeCache {
+
+    private val shards = ConcurrentHashMap<Long, Shard>()
+
+    /** 最近一次变动的时间，作为新分片的变动时间 */
+    @Volatile
+    private var lastChange = Long.MIN_VALUE
+
+    /**
+     * 获取缓存的方块类型，不存在时返回 null
+     */
+    fun get(x: Int, y: Int, z: Int): PathType? {
+        val key = shardKey(x, y, z)
+        val shard = shards[key] ?: return null
+        if (System.nanoTime() - shard.createdAt > TimeUnit.MILLISECONDS.toNanos(expireTime)) {
+            shards.remove(key, shard)
+            return null
+        }
+        val id = shard.types[index(x, y, z)].toInt()
+        return if (id == 0) null else types[id - 1]
+    }
+
+    /**
+     * 写入方块类型
+     *
+     * @param time 计算所依据的方块数据的读取时间（[System.nanoTime]），早于该区域最近一次变动的数据不会被写入
+     */
+    fun put(x: Int, y: Int, z: Int, type: PathType, time: Long = System.nanoTime()) {
+        // 防止缓存无限增长
+        if (shards.size >= maxShards) {
+            shards.clear()
+        }
+        val shard = shards.computeIfAbsent(shardKey(x, y, z)) { Shard(lastChange) }
+        synchronized(shard) {
+            if (time > shard.changedAt) {
+                shard.types[index(x, y, z)] = (type.ordinal + 1).toByte()
+            }
+        }
+    }
+
+    /**
+     * 清除方块及其相邻方块的缓存
+     * 方块类型取决于下方方块与相邻的危险方块，因此需要清除周围 3x3x3 的范围
+     */
+    fun invalidate(x: Int, y: Int, z: Int) {
+        val time = System.nanoTime()
+        lastChange = time
+        for (ox in -1..1) {
+            for (oy in -1..1) {
+                for (oz in -1..1) {
+                    val shard = shards[shardKey(x + ox, y + oy, z + oz)] ?: continue
+                    synchronized(shard) {
+                        shard.changedAt = time
+                        shard.types[index(x + ox, y + oy, z + oz)] = 0
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    fun clear() {
+        shards.clear()
+    }
+
+    private class Shard(changedAt: Long) {
+
+        /** 方块类型（PathType 序号 + 1），0 表示未缓存 */
+        val types = ByteArray(4096)
+
+        /** 创建时间 */
+        val createdAt = System.nanoTime()
+
+        /** 最近一次变动的时间 */
+        var changedAt = changedAt
+    }
+
+    companion object {
+
+        private val types = PathType.values()
+
+        private val caches = ConcurrentHashMap<UUID, PathTypeCache>()
+
+        /** 分片有效期（毫秒） */
+        var expireTime = TimeUnit.SECONDS.toMillis(10)
+
+        /** 每个世界最多缓存的分片数量 */
+        var maxShards = 4096
+
+        /**
+         * 获取世界的缓存
+         */
+        fun of(world: World): PathTypeCache {
+            return caches.computeIfAbsent(world.uid) { PathTypeCache() }
+        }
+
+        /**
+         * 清除世界中指定方块的缓存
+         */
+        fun invalidate(world: World, x: Int, y: Int, z: Int) {
+            caches[world.uid]?.invalidate(x, y, z)
+        }
+
+        /**
+         * 移除世界的缓存
+         */
+        fun remove(world: World) {
+            caches.remove(world.uid)
+        }
+
+        private fun shardKey(x: Int, y: Int, z: Int): Long {
+            return ((x shr 4).toLong() and 0x3FFFFFL shl 42) or ((z shr 4).toLong() and 0x3FFFFFL shl 20) or ((y shr 4).toLong() and 0xFFFFFL)
+        }
+
+        private fun index(x: Int, y: Int, z: Int): Int {
+            return (y and 15 shl 8) or (z and 15 shl 4) or (x and 15)
+        }
+    }
+}
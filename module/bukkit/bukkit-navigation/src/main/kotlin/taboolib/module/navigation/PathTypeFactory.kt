@@ -1,5 +1,6 @@
 package taboolib.module.navigation
 
+import org.bukkit.Material
 import org.bukkit.World
 import org.bukkit.util.Vector
 import taboolib.module.navigation.Fluid.Companion.getFluid
@@ -14,10 +15,24 @@ import kotlin.math.ceil
  * @since 2021/2/21 11:57 下午
  */
 @Suppress("LiftReturnOrAssignment")
-open class PathTypeFactory(val entity: NodeEntity) {
+open class PathTypeFactory @JvmOverloads constructor(
+    val entity: NodeEntity,
+    val access: BlockAccess = WorldBlockAccess(entity.location.world!!),
+) {
 
     val world = entity.location.world!!
 
+    /**
+     * 共享的方块类型缓存
+     * 仅在基于 [BlockSnapshot] 的异步寻路（见 [AsyncPathFinder]）中启用，该寻路方式会监听方块变动并使缓存失效；
+     * 同步寻路直接读取世界，不使用缓存。
+     * 子类可能重写 [getTypeAsWalkable]，其结果不能与其他实体共享，因此仅在未被继承时启用
+     */
+    open val sharedCache: PathTypeCache? = if (access is BlockSnapshot && javaClass == PathTypeFactory::class.java) PathTypeCache.of(world) else null
+
+    /** 记录是否读取到未加载（或不在快照范围内）的方块，这类结果不能写入 [sharedCache] */
+    private val trackedAccess = TrackedBlockAccess(access)
+
     /**
      * 评估类型
      * 根据实体自身条件判断是否可以穿过该方块
@@ -88,7 +103,7 @@ open class PathTypeFactory(val entity: NodeEntity) {
             (0 until ceil(entity.height).toInt()).forEach { oy ->
                 (0 until ceil(entity.depth).toInt()).forEach { oz ->
                     // 获取方块类型并评估
-                    val type = evaluateType(getTypeAsWalkable(world, Vector(ox + x, oy + y, oz + z))).also {
+                    val type = evaluateType(getCachedTypeAsWalkable(ox + x, oy + y, oz + z)).also {
                         cover.add(it)
                     }
                     // 如果是原点则作为方法的返回值
@@ -101,6 +116,23 @@ open class PathTypeFactory(val entity: NodeEntity) {
         return pathType!!
     }
 
+    /**
+     * 获取方块类型，优先读取 [sharedCache]
+     */
+    fun getCachedTypeAsWalkable(x: Int, y: Int, z: Int): PathType {
+        val cache = sharedCache ?: return getTypeAsWalkable(world, Vector(x, y, z))
+        cache.get(x, y, z)?.let { return it }
+        // 基于快照计算的结果以快照的捕获时间写入，避免覆盖此后发生的变动
+        val time = (access as? BlockSnapshot)?.captureTime ?: System.nanoTime()
+        trackedAccess.missed = false
+        val type = getTypeAsWalkable(world, Vector(x, y, z))
+        // 区块加载不会使缓存失效，读取到未加载方块（视为 BLOCKED）的结果仅在本次寻路中使用
+        if (!trackedAccess.missed) {
+            cache.put(x, y, z, type, time)
+        }
+        return type
+    }
+
     /**
      * 获取方块类型
      * 主要目的为判断方块是否可行走及其行走代价
@@ -109,12 +141,15 @@ open class PathTypeFactory(val entity: NodeEntity) {
      * 那么该方块也会被视为危险类型
      */
     open fun getTypeAsWalkable(world: World, position: Vector): PathType {
+        val x = position.blockX
+        val y = position.blockY
+        val z = position.blockZ
         // 获取原始类型
-        var rawType = getRawType(world, position)
+        var rawType = getRawType(trackedAccess, x, y, z)
         // 当方块可以通过且高度 > 1
         if (rawType == PathType.OPEN) {
             // 获取下方方块
-            val down = getRawType(world, position.down())
+            val down = getRawType(trackedAccess, x, y - 1, z)
             // 对下方方块进行一个初步的判断
             if (down != PathType.WALKABLE && down != PathType.OPEN && down != PathType.WATER && down != PathType.LAVA) {
                 // WALKABLE 类型的唯一来源，代表方块绝对可站立，但危险等级不知。
@@ -132,7 +167,7 @@ open class PathTypeFactory(val entity: NodeEntity) {
         }
         if (rawType == PathType.WALKABLE) {
             // 临近的危险方块将会代替自身返回
-            rawType = getTypeAsNeighbor(world, position, rawType)
+            rawType = getTypeAsNeighbor(trackedAccess, x, y, z, rawType)
         }
         return rawType
     }
@@ -146,13 +181,21 @@ open class PathTypeFactory(val entity: NodeEntity) {
          * 主要目的是获取其临近的危险方块
          */
         fun getTypeAsNeighbor(world: World, position: Vector, pathType: PathType): PathType {
+            return getTypeAsNeighbor(WorldBlockAccess(world), position.blockX, position.blockY, position.blockZ, pathType)
+        }
+
+        /**
+         * 获取方块类型
+         * 主要目的是获取其临近的危险方块
+         */
+        fun getTypeAsNeighbor(access: BlockAccess, x: Int, y: Int, z: Int, pathType: PathType): PathType {
             (-1..1).forEach { ox ->
                 (-1..1).forEach { oy ->
                     (-1..1).forEach { oz ->
                         if (ox != 0 || oz != 0) {
-                            val block = world.getBlockAtIfLoaded(Vector(position.x + ox, position.y + oy, position.z + oz))
-                            if (block != null) {
-                                val name = block.type.name
+                            val type = access.getType(x + ox, y + oy, z + oz)
+                            if (type != null) {
+                                val name = type.name
                                 when {
                                     // 仙人掌
                                     name == "CACTUS" -> return PathType.DANGER_CACTUS
@@ -176,8 +219,15 @@ open class PathTypeFactory(val entity: NodeEntity) {
          * 不对其临近方块进行判断
          */
         fun getRawType(world: World, position: Vector): PathType {
-            val block = world.getBlockAtIfLoaded(position) ?: return PathType.BLOCKED
-            val blockType = block.type
+            return getRawType(WorldBlockAccess(world), position.blockX, position.blockY, position.blockZ)
+        }
+
+        /**
+         * 获取单个方块当原始类型
+         * 不对其临近方块进行判断
+         */
+        fun getRawType(access: BlockAccess, x: Int, y: Int, z: Int): PathType {
+            val blockType = access.getType(x, y, z) ?: return PathType.BLOCKED
             val blockTypeName = blockType.name
             return when {
                 // 空气
@@ -203,7 +253,7 @@ open class PathTypeFactory(val entity: NodeEntity) {
                     PathType.TRAPDOOR
                 }
                 // 栅栏，石墙，关闭的栅栏门
-                blockTypeName.endsWith("FENCE") || blockTypeName.endsWith("WALL") || (blockTypeName.endsWith("FENCE_GATE") && !block.isOpened()) -> {
+                blockTypeName.endsWith("FENCE") || blockTypeName.endsWith("WALL") || (blockTypeName.endsWith("FENCE_GATE") && !access.isOpened(x, y, z)) -> {
                     // 与 Blocked 不同，Fence 拥有 1.5 格高度无法越过。
                     PathType.FENCE
                 }
@@ -234,12 +284,12 @@ open class PathTypeFactory(val entity: NodeEntity) {
                     PathType.DAMAGE_FIRE
                 }
                 // 铁门
-                block.isIronDoor() -> {
-                    if (block.isOpened()) PathType.DOOR_OPEN else PathType.DOOR_IRON_CLOSED
+                blockType.isIronDoor() -> {
+                    if (access.isOpened(x, y, z)) PathType.DOOR_OPEN else PathType.DOOR_IRON_CLOSED
                 }
                 // 木门
-                block.isDoor() -> {
-                    if (block.isOpened()) PathType.DOOR_OPEN else PathType.DOOR_WOOD_CLOSED
+                blockType.isDoor() -> {
+                    if (access.isOpened(x, y, z)) PathType.DOOR_OPEN else PathType.DOOR_WOOD_CLOSED
                 }
                 // 水
                 blockTypeName.getFluid().isWater() -> {
@@ -252,7 +302,7 @@ open class PathTypeFactory(val entity: NodeEntity) {
                     PathType.LAVA
                 }
                 // 其他实体方块
-                block.type.isSolid -> {
+                blockType.isSolid -> {
                     // 不可通过，允许越过
                     PathType.BLOCKED
                 }
@@ -263,4 +313,25 @@ open class PathTypeFactory(val entity: NodeEntity) {
             }
         }
     }
+}
+
+/**
+ * 记录是否读取到空方块类型的 [BlockAccess]
+ */
+private class TrackedBlockAccess(val access: BlockAccess) : BlockAccess {
+
+    /** 是否读取到未加载的方块 */
+    var missed = false
+
+    override fun getType(x: Int, y: Int, z: Int): Material? {
+        return access.getType(x, y, z).also { if (it == null) missed = true }
+    }
+
+    override fun isOpened(x: Int, y: Int, z: Int): Boolean {
+        return access.isOpened(x, y, z)
+    }
+
+    override fun getBlockHeight(x: Int, y: Int, z: Int): Double {
+        return access.getBlockHeight(x, y, z)
+    }
 }
\ No newline at end of file
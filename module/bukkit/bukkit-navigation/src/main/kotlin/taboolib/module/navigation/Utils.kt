@@ -75,11 +75,33 @@ fun Location.toCommonVector(): Vector {
 }
 
 fun Block.isDoor(): Boolean {
-    return type.name.run { endsWith("DOOR") || endsWith("DOOR_BLOCK") }
+    return type.isDoor()
 }
 
 fun Block.isIronDoor(): Boolean {
-    return type.name.run { endsWith("IRON_DOOR") || endsWith("IRON_DOOR_BLOCK") }
+    return type.isIronDoor()
+}
+
+fun Material.isDoor(): Boolean {
+    return name.run { endsWith("DOOR") || endsWith("DOOR_BLOCK") }
+}
+
+fun Material.isOpenable(): Boolean {
+    return isDoor() || name.endsWith("FENCE_GATE")
+}
+
+fun Material.isIronDoor(): Boolean {
+    return name.run { endsWith("IRON_DOOR") || endsWith("IRON_DOOR_BLOCK") }
+}
+
+/**
+ * 与 [Block.isLiquid] 相同
+ */
+fun Material.isLiquidLegacy(): Boolean {
+    return when (name) {
+        "WATER", "LAVA", "STATIONARY_WATER", "STATIONARY_LAVA" -> true
+        else -> false
+    }
 }
 
 fun Block.isClimbable(): Boolean {
@@ -0,0 +1,191 @@
+package taboolib.module.navigation;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * {@link PathFinder#findPath} 在合成世界中的基准测试
+ * <p>
+ * 方块由 {@link SyntheticBlockAccess} 按坐标生成（平地、石柱与水坑），服务端与世界均为代理对象，
+ * 服务端版本固定为 1.12.2，供 {@link PathTypeFactory} 判断方块类型。
+ * <p>
+ * 对比每次寻路复用同一个 {@link NodeReader}（节点与方块类型缓存的数组被保留）与每次新建的情况，
+ * 以及 {@link IntObjectMap} 与装箱的 {@link HashMap} 的读写开销。通过 main 方法运行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    /** 起点与终点之间的水平距离 */
+    @Param({"16", "48"})
+    public int distance;
+
+    private NodeEntity entity;
+    private BlockAccess access;
+    private PathFinder reused;
+    private Set<Vector> target;
+
+    private int[] keys;
+    private final IntObjectMap<Node> nodeMap = new IntObjectMap<>(256);
+    private final HashMap<Integer, Node> boxedMap = new HashMap<>(256);
+    private final Node node = new Node(0, 0, 0);
+
+    @Setup
+    public void setup() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(createServer());
+        }
+        World world = createWorld();
+        entity = new NodeEntity(new Location(world, 0.5, 64, 0.5), 1.8, 0.6, 0.6, true, false, true, new Random(0), new Vector(0, 0, 0), -1f);
+        access = new SyntheticBlockAccess();
+        reused = new PathFinder(new NodeReader(entity, access));
+        target = Collections.singleton(new Vector(distance, 64, distance));
+        keys = new int[32 * 32 * 4];
+        int i = 0;
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 32; z++) {
+                for (int y = 62; y < 66; y++) {
+                    keys[i++] = Node.Companion.createHash(x, y, z);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Path findPathReused() {
+        return findPath(reused);
+    }
+
+    @Benchmark
+    public Path findPathFresh() {
+        return findPath(new PathFinder(new NodeReader(entity, access)));
+    }
+
+    @Benchmark
+    public int intObjectMap() {
+        int found = 0;
+        for (int key : keys) {
+            if (nodeMap.get(key) == null) {
+                nodeMap.set(key, node);
+            }
+            found++;
+        }
+        nodeMap.clear();
+        return found;
+    }
+
+    @Benchmark
+    public int boxedHashMap() {
+        int found = 0;
+        for (int key : keys) {
+            if (boxedMap.get(key) == null) {
+                boxedMap.put(key, node);
+            }
+            found++;
+        }
+        boxedMap.clear();
+        return found;
+    }
+
+    private Path findPath(PathFinder finder) {
+        NodeReader reader = finder.getNodeReader();
+        Node start = reader.getNode(0, 64, 0);
+        start.setType(reader.getCachedBlockType(0, 64, 0));
+        start.setCostMalus(entity.getPathfindingMalus(start.getType()));
+        return finder.findPath(start, target, distance * 2f, 1, 1f);
+    }
+
+    /**
+     * 仅提供版本信息的服务端
+     */
+    private static Server createServer() {
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return Logger.getLogger("PathFinderBenchmark");
+                case "getName":
+                    return "Benchmark";
+                case "getVersion":
+                    return "git-Benchmark (MC: 1.12.2)";
+                case "getBukkitVersion":
+                    return "1.12.2-R0.1-SNAPSHOT";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * 仅提供名称的世界，方块通过 {@link SyntheticBlockAccess} 读取
+     */
+    private static World createWorld() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "benchmark";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * 合成世界：y <= 63 为石头地面，地面上按坐标分布着两格高的石柱与水坑，范围外视为未加载
+     */
+    static class SyntheticBlockAccess implements BlockAccess {
+
+        @Override
+        public Material getType(int x, int y, int z) {
+            if (Math.abs(x) > 128 || Math.abs(z) > 128) {
+                return null;
+            }
+            int noise = (x * 73856093) ^ (z * 19349663);
+            if (y <= 63) {
+                return y == 63 && (noise & 63) == 1 ? Material.WATER : Material.STONE;
+            }
+            if (y <= 65 && (noise & 15) == 0) {
+                return Material.STONE;
+            }
+            return Material.AIR;
+        }
+
+        @Override
+        public boolean isOpened(int x, int y, int z) {
+            return false;
+        }
+
+        @Override
+        public double getBlockHeight(int x, int y, int z) {
+            Material type = getType(x, y, z);
+            return type != null && type.isSolid() ? 1.0 : 0.0;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathFinderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -50,4 +50,8 @@ object InventoryViewInterface {
     fun getTitle(view: InventoryView): String {
         return view.title
     }
-}
\ No newline at end of file
+
+    fun setTitle(view: InventoryView, title: String) {
+        view.title = title
+    }
+}
@@ -6,6 +6,7 @@ import org.bukkit.inventory.InventoryView
 import org.bukkit.inventory.ItemStack
 import taboolib.common.util.unsafeLazy
 import taboolib.module.ui.util.InventoryViewInterface
+import java.lang.reflect.Method
 
 /**
  * TabooLib
@@ -20,6 +21,15 @@ object InventoryViewProxy {
         InventoryView::class.java.isInterface
     }
 
+    /** InventoryView#setTitle（1.20+） */
+    private val setTitleMethod: Method? by unsafeLazy {
+        try {
+            InventoryView::class.java.getMethod("setTitle", String::class.java)
+        } catch (ex: NoSuchMethodException) {
+            null
+        }
+    }
+
     // 此方法不生效
 //    fun HumanEntity.getFixedOpenInventory(): InventoryView {
 //        return if (isInterfaceInventoryView) InventoryViewInterface.getOpenInventory(this) else openInventory
@@ -77,4 +87,20 @@ object InventoryViewProxy {
         }
         return view.title
     }
-}
\ No newline at end of file
+
+    /**
+     * 修改页面标题
+     * 服务端将在原有的容器序号上重新发送打开页面的数据包，不会关闭页面
+     *
+     * @return 当前版本是否支持（1.20+）
+     */
+    fun setTitle(view: InventoryView, title: String): Boolean {
+        if (isInterfaceInventoryView) {
+            InventoryViewInterface.setTitle(view, title)
+            return true
+        }
+        val method = setTitleMethod ?: return false
+        method.invoke(view, title)
+        return true
+    }
+}
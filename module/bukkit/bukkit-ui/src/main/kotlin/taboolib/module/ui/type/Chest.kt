@@ -155,6 +155,14 @@ interface Chest : Menu {
      */
     fun getSlots(slot: Char): List<Int>
 
+    /**
+     * 获取抽象字符对应的位置
+     * 返回的数组为共享实例，不应被修改
+     */
+    fun getSlotArray(slot: Char): IntArray {
+        return getSlots(slot).toIntArray()
+    }
+
     /**
      * 获取抽象字符对应的首个位置
      */
@@ -164,4 +172,17 @@ interface Chest : Menu {
      * 更新标题
      */
     fun updateTitle(title: String)
+
+    /**
+     * 设置是否通过数据包更新页面
+     * 启用后 [updateTitle] 将在原有的容器上修改标题并刷新物品，不再重新构建并打开页面（不会重置光标物品）
+     * 在 1.12 及以下版本或虚拟页面中仍会重新打开页面
+     */
+    fun updateByPacket(value: Boolean = true)
+
+    /**
+     * 刷新页面物品
+     * 将 [items] 中的物品按抽象字符布局写入最后一次构建的页面，仅写入发生变化的位置
+     */
+    fun refresh()
 }
\ No newline at end of file
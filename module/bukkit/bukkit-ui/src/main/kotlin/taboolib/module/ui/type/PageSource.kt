@@ -0,0 +1,39 @@
+package taboolib.module.ui.type
+
+import java.util.concurrent.CompletableFuture
+
+/**
+ * 分页数据源
+ *
+ * 用于元素数量较多（例如拍卖行、排行榜）的 [PageableChest]，按页加载元素而不是一次性加载全部元素。
+ *
+ * ```
+ * source(object : PageSource<Auction> {
+ *     override fun load(page: Int, size: Int) = CompletableFuture.supplyAsync { database.query(page * size, size) }
+ * })
+ * ```
+ *
+ * TabooLib
+ * taboolib.module.ui.type.PageSource
+ *
+ * @since 2026/10/19 19:50
+ */
+interface PageSource<T> {
+
+    /**
+     * 加载指定页的元素
+     *
+     * @param page 页数（从 0 开始）
+     * @param size 每页的元素数量
+     * @return 该页的元素，不应超过 [size] 个
+     */
+    fun load(page: Int, size: Int): CompletableFuture<List<T>>
+
+    /**
+     * 元素总数，未知时返回 -1
+     * 未知时将根据已加载的相邻页判断是否存在下一页
+     */
+    fun size(): Int {
+        return -1
+    }
+}
@@ -39,6 +39,24 @@ interface PageableChest<T> : Chest {
      */
     fun elements(elements: () -> List<T>)
 
+    /**
+     * 使用分页数据源，设置后 [elements] 将被忽略
+     * 元素按页异步加载，并预加载相邻的页面
+     */
+    fun source(source: PageSource<T>)
+
+    /**
+     * 设置使用分页数据源时预加载的相邻页数
+     * 默认为 1
+     */
+    fun prefetch(pages: Int)
+
+    /**
+     * 设置使用分页数据源时缓存的页数（包含已生成的物品）
+     * 默认为 8
+     */
+    fun pageCache(pages: Int)
+
     /**
      * 元素对应物品生成回调
      */
@@ -81,6 +99,7 @@ interface PageableChest<T> : Chest {
 
     /**
      * 重制元素列表缓存
+     * 使用分页数据源时将清空页面缓存
      */
     fun resetElementsCache()
 }
\ No newline at end of file
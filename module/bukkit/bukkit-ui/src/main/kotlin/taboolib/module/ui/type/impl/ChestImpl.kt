@@ -2,6 +2,7 @@ package taboolib.module.ui.type.impl
 
 import org.bukkit.Bukkit
 import org.bukkit.Material
+import org.bukkit.entity.HumanEntity
 import org.bukkit.entity.Player
 import org.bukkit.event.inventory.InventoryCloseEvent
 import org.bukkit.inventory.Inventory
@@ -10,12 +11,17 @@ import taboolib.common.util.t
 import taboolib.library.xseries.XMaterial
 import taboolib.module.ui.ClickEvent
 import taboolib.module.ui.ClickType
+import taboolib.module.ui.InventoryViewProxy
 import taboolib.module.ui.MenuHolder
 import taboolib.module.ui.openMenu
 import taboolib.module.ui.type.Chest
+import taboolib.module.ui.virtual.InventoryHandler
+import taboolib.module.ui.virtual.VirtualInventory
 import taboolib.module.ui.virtual.virtualize
 import taboolib.platform.util.ItemBuilder
 import taboolib.platform.util.buildItem
+import taboolib.platform.util.isAir
+import taboolib.platform.util.isNotAir
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.CopyOnWriteArrayList
 
@@ -66,6 +72,12 @@ open class ChestImpl(override var title: String) : Chest {
     /** 是否刷新标题 */
     var isUpdateTitle = false
 
+    /** 是否通过数据包更新页面 */
+    var isUpdateByPacket = false
+
+    /** 编译后的布局 */
+    private var compiledLayout: ChestLayout? = null
+
     /** 构建回调 **/
     var buildCallback: ((player: Player, inventory: Inventory) -> Unit) = { _, _ -> isOpened = true }
 
@@ -255,7 +267,7 @@ open class ChestImpl(override var title: String) : Chest {
      * 根据抽象符号设置物品
      */
     override fun set(slot: Char, callback: () -> ItemStack) {
-        onBuild { _, it -> getSlots(slot).forEach { s -> it.setItem(s, callback()) } }
+        onBuild { _, it -> getSlotArray(slot).forEach { s -> it.setItem(s, callback()) } }
     }
 
     /**
@@ -299,47 +311,79 @@ open class ChestImpl(override var title: String) : Chest {
      * 获取位置对应的抽象字符
      */
     override fun getSlot(slot: Int): Char {
-        var row = 0
-        while (row < slots.size) {
-            val line = slots[row]
-            var cel = 0
-            while (cel < line.size && cel < 9) {
-                if (row * 9 + cel == slot) {
-                    return line[cel]
-                }
-                cel++
-            }
-            row++
-        }
-        return ' '
+        return layout().getSlot(slot)
     }
 
     /**
      * 获取抽象字符对应的位置
      */
     override fun getSlots(slot: Char): List<Int> {
-        val list = mutableListOf<Int>()
+        return layout().getSlots(slot)
+    }
+
+    /**
+     * 获取抽象字符对应的位置
+     */
+    override fun getSlotArray(slot: Char): IntArray {
+        return layout().getSlotArray(slot)
+    }
+
+    /**
+     * 获取抽象字符对应的首个位置
+     */
+    override fun getFirstSlot(slot: Char): Int {
+        return layout().getFirstSlot(slot)
+    }
+
+    /**
+     * 获取编译后的布局，布局发生变化时重新编译
+     */
+    fun layout(): ChestLayout {
+        val layout = compiledLayout
+        if (layout != null && layout.isValid(slots)) {
+            return layout
+        }
+        return ChestLayout(slots).also { compiledLayout = it }
+    }
+
+    /**
+     * 设置是否通过数据包更新页面
+     */
+    override fun updateByPacket(value: Boolean) {
+        this.isUpdateByPacket = value
+    }
+
+    /**
+     * 刷新页面物品
+     * 已存在的相同物品不会被重复写入，因此服务端只会同步发生变化的位置（虚拟页面同理，仅发送变化的位置）
+     */
+    override fun refresh() {
+        if (!::lastInventory.isInitialized) {
+            return
+        }
+        val inventory = lastInventory
         var row = 0
         while (row < slots.size) {
             val line = slots[row]
             var cel = 0
             while (cel < line.size && cel < 9) {
-                if (line[cel] == slot) {
-                    list.add(row * 9 + cel)
+                // 未绑定物品的位置可能由构建回调写入，不做处理
+                val item = items[line[cel]]
+                if (item != null) {
+                    val slot = row * 9 + cel
+                    val current = inventory.getItem(slot)
+                    if (item.isAir()) {
+                        if (current.isNotAir()) {
+                            inventory.setItem(slot, null)
+                        }
+                    } else if (item != current) {
+                        inventory.setItem(slot, item)
+                    }
                 }
                 cel++
             }
             row++
         }
-        return list
-    }
-
-    /**
-     * 获取抽象字符对应的首个位置
-     */
-    override fun getFirstSlot(slot: Char): Int {
-        val slots = getSlots(slot)
-        return if (slots.isEmpty()) -1 else slots[0]
     }
 
     /**
@@ -347,20 +391,58 @@ open class ChestImpl(override var title: String) : Chest {
      */
     override fun updateTitle(title: String) {
         this.title = title
+        // 获取所有打开页面的玩家
+        var viewers = if (::lastInventory.isInitialized) lastInventory.viewers.toList() else emptyList()
+        // 在原有的容器上修改标题，仅重新打开修改失败的玩家
+        var updated = false
+        if (isUpdateByPacket && ::lastInventory.isInitialized && lastInventory !is VirtualInventory) {
+            try {
+                refresh()
+                val newTitle = createTitle()
+                val failed = viewers.filterNot {
+                    try {
+                        updateTitleByPacket(it, newTitle)
+                    } catch (ex: Throwable) {
+                        ex.printStackTrace()
+                        false
+                    }
+                }
+                if (failed.isEmpty()) {
+                    return
+                }
+                updated = failed.size < viewers.size
+                viewers = failed
+            } catch (ex: Throwable) {
+                ex.printStackTrace()
+            }
+        }
         this.isUpdateTitle = true
         try {
-            // 获取所有打开页面的玩家
-            val viewers = lastInventory.viewers.toList()
+            val inventory = lastInventory
             // 重新构建页面
             build()
             // 重新打开页面
             viewers.forEach { it.openMenu(lastInventory, changeId = false) }
+            // 其余玩家仍在原有的容器上，继续以其作为当前页面
+            if (updated) {
+                lastInventory = inventory
+            }
         } catch (ex: Throwable) {
             ex.printStackTrace()
         }
         this.isUpdateTitle = false
     }
 
+    /**
+     * 通过数据包修改玩家当前页面的标题
+     */
+    private fun updateTitleByPacket(viewer: HumanEntity, title: String): Boolean {
+        if (viewer !is Player) {
+            return false
+        }
+        return InventoryViewProxy.setTitle(viewer.openInventory, title) || InventoryHandler.instance.updateTitle(viewer, title)
+    }
+
     /**
      * 创建标题
      */
@@ -382,7 +464,11 @@ open class ChestImpl(override var title: String) : Chest {
             val line = slots[row]
             var cel = 0
             while (cel < line.size && cel < 9) {
-                lastInventory.setItem(row * 9 + cel, items[line[cel]] ?: ItemStack(Material.AIR))
+                // 新建的页面均为空位，无需写入空气
+                val item = items[line[cel]]
+                if (item.isNotAir()) {
+                    lastInventory.setItem(row * 9 + cel, item)
+                }
                 cel++
             }
             row++
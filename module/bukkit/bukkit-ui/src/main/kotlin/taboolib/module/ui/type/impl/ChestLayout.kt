@@ -0,0 +1,96 @@
+package taboolib.module.ui.type.impl
+
+/**
+ * 编译后的抽象字符布局
+ *
+ * 由 [ChestImpl.map] 设置的布局仅在发生变化时编译一次，
+ * 位置与抽象字符之间的查询均不再遍历布局，也不会创建新的集合。
+ *
+ * TabooLib
+ * taboolib.module.ui.type.impl.ChestLayout
+ *
+ * @since 2026/10/19 19:30
+ */
+class ChestLayout(slots: List<List<Char>>) {
+
+    /** 编译时的布局行，用于判断布局是否发生变化 */
+    private val rows = slots.toTypedArray()
+
+    /** 位置 → 抽象字符，未设置的位置为空格 */
+    private val chars = CharArray(rows.size * 9) { ' ' }
+
+    /** 抽象字符 → 位置 */
+    private val indexes = HashMap<Char, IntArray>()
+
+    /** 抽象字符 → 位置（只读列表） */
+    private val lists = HashMap<Char, List<Int>>()
+
+    init {
+        val builder = LinkedHashMap<Char, MutableList<Int>>()
+        rows.forEachIndexed { row, line ->
+            var cel = 0
+            while (cel < line.size && cel < 9) {
+                val slot = row * 9 + cel
+                chars[slot] = line[cel]
+                builder.computeIfAbsent(line[cel]) { ArrayList() } += slot
+                cel++
+            }
+        }
+        builder.forEach { (char, list) ->
+            val array = list.toIntArray()
+            indexes[char] = array
+            lists[char] = array.asList()
+        }
+    }
+
+    /**
+     * 获取位置对应的抽象字符，不存在时返回空格
+     */
+    fun getSlot(slot: Int): Char {
+        return if (slot >= 0 && slot < chars.size) chars[slot] else ' '
+    }
+
+    /**
+     * 获取抽象字符对应的位置
+     * 返回的数组为共享实例，不应被修改
+     */
+    fun getSlotArray(char: Char): IntArray {
+        return indexes[char] ?: EMPTY
+    }
+
+    /**
+     * 获取抽象字符对应的位置（只读列表）
+     */
+    fun getSlots(char: Char): List<Int> {
+        return lists[char] ?: emptyList()
+    }
+
+    /**
+     * 获取抽象字符对应的首个位置，不存在时返回 -1
+     */
+    fun getFirstSlot(char: Char): Int {
+        val array = indexes[char]
+        return if (array == null || array.isEmpty()) -1 else array[0]
+    }
+
+    /**
+     * 布局是否仍与 [slots] 一致
+     * 布局行在 [ChestImpl.map] 中整体替换，因此只需比较每一行的引用
+     */
+    fun isValid(slots: List<List<Char>>): Boolean {
+        if (slots.size != rows.size) {
+            return false
+        }
+        for (i in rows.indices) {
+            if (slots[i] !== rows[i]) {
+                return false
+            }
+        }
+        return true
+    }
+
+    companion object {
+
+        private val EMPTY = IntArray(0)
+    }
+}
@@ -4,14 +4,21 @@ import org.bukkit.Material
 import org.bukkit.entity.Player
 import org.bukkit.inventory.Inventory
 import org.bukkit.inventory.ItemStack
+import taboolib.common.platform.function.isPrimaryThread
+import taboolib.common.platform.function.submit
 import taboolib.common.util.subList
 import taboolib.module.ui.ClickEvent
+import taboolib.module.ui.type.PageSource
 import taboolib.module.ui.type.PageableChest
 import taboolib.module.ui.virtual.VirtualInventory
 import taboolib.module.ui.virtual.inject
 import taboolib.module.ui.virtual.openVirtualInventory
 import taboolib.platform.util.isNotAir
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 import java.util.concurrent.CopyOnWriteArrayList
+import kotlin.math.abs
 
 open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest<T> {
 
@@ -45,6 +52,36 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
     /** 页面切换回调 */
     var pageChangeCallback: ((player: Player) -> Unit) = { _ -> }
 
+    /** 分页数据源 */
+    var pageSource: PageSource<T>? = null
+
+    /** 预加载的相邻页数 */
+    var prefetchPages = 1
+
+    /** 缓存的页数 */
+    var pageCacheSize = 8
+
+    /** 是否设置了异步元素生成回调 */
+    var isAsyncGenerate = false
+
+    /** 翻页按钮，分页数据源的页面加载完成后重新绘制 */
+    private val navigationButtons = CopyOnWriteArrayList<(Inventory) -> Unit>()
+
+    /**
+     * 分页数据源的页面缓存，按访问顺序淘汰
+     * 容量至少能容纳当前页及其两侧预加载（总数未知时至少包含下一页）的页面，且不会淘汰当前显示的页面
+     */
+    private val pageCache = object : LinkedHashMap<Int, PageEntry<T>>(16, 0.75f, true) {
+
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Int, PageEntry<T>>): Boolean {
+            if (size > maxOf(pageCacheSize, prefetchPages.coerceAtLeast(1) * 2 + 1) && eldest.key != page) {
+                eldest.value.cancel()
+                return true
+            }
+            return false
+        }
+    }
+
     /**
      * 是否锁定所有位置
      * 默认为 true
@@ -82,12 +119,35 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
         elementsCallback = elements
     }
 
+    /**
+     * 使用分页数据源
+     */
+    override fun source(source: PageSource<T>) {
+        pageSource = source
+        resetElementsCache()
+    }
+
+    /**
+     * 设置预加载的相邻页数
+     */
+    override fun prefetch(pages: Int) {
+        prefetchPages = pages.coerceAtLeast(0)
+    }
+
+    /**
+     * 设置缓存的页数
+     */
+    override fun pageCache(pages: Int) {
+        pageCacheSize = pages.coerceAtLeast(1)
+    }
+
     /**
      * 元素对应物品生成回调
      */
     override fun onGenerate(async: Boolean, callback: (player: Player, element: T, index: Int, slot: Int) -> ItemStack) {
         if (async) {
             asyncGenerateCallback = callback
+            isAsyncGenerate = true
         } else {
             generateCallback = callback
         }
@@ -113,6 +173,7 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
     override fun setNextPage(slot: Int, callback: (page: Int, hasNextPage: Boolean) -> ItemStack) {
         // 设置物品
         set(slot) { callback(page, hasNextPage()) }
+        navigationButtons += { it.setItem(slot, callback(page, hasNextPage())) }
         // 点击事件
         onClick(slot) {
             if (hasNextPage()) {
@@ -134,6 +195,7 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
     override fun setPreviousPage(slot: Int, callback: (page: Int, hasPreviousPage: Boolean) -> ItemStack) {
         // 设置物品
         set(slot) { callback(page, hasPreviousPage()) }
+        navigationButtons += { it.setItem(slot, callback(page, hasPreviousPage())) }
         // 点击事件
         onClick(slot) {
             if (hasPreviousPage()) {
@@ -167,7 +229,18 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
      * 是否可以前往下一页
      */
     override fun hasNextPage(): Boolean {
-        return isNext(page, elementsCache.size, menuSlots.size)
+        val source = pageSource ?: return isNext(page, elementsCache.size, menuSlots.size)
+        val size = source.size()
+        if (size >= 0) {
+            return isNext(page, size, menuSlots.size)
+        }
+        // 总数未知时根据已加载的页面判断
+        val next = synchronized(pageCache) { pageCache[page + 1] }?.loaded()
+        if (next != null) {
+            return next.isNotEmpty()
+        }
+        val current = synchronized(pageCache) { pageCache[page] }?.loaded() ?: return false
+        return current.size >= menuSlots.size
     }
 
     override fun createTitle(): String {
@@ -175,13 +248,23 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
     }
 
     override fun resetElementsCache() {
-        elementsCache = elementsCallback()
+        if (pageSource != null) {
+            synchronized(pageCache) {
+                pageCache.values.forEach { it.cancel() }
+                pageCache.clear()
+            }
+        } else {
+            elementsCache = elementsCallback()
+        }
     }
 
     /**
      * 构建页面
      */
     override fun build(): Inventory {
+        if (pageSource != null) {
+            return buildFromSource()
+        }
         // 更新元素列表缓存
         elementsCache = elementsCallback()
 
@@ -221,6 +304,196 @@ open class PageableChestImpl<T>(title: String) : ChestImpl(title), PageableChest
         return super.build()
     }
 
+    /**
+     * 使用分页数据源构建页面
+     * 页面先行打开，元素加载并生成物品后再写入页面
+     */
+    private fun buildFromSource(): Inventory {
+        val elementMap = hashMapOf<Int, T>()
+        val entry = pageEntry(page)
+
+        /**
+         * 将元素写入页面，若已翻页则放弃
+         */
+        fun apply(inventory: Inventory, elements: List<T>, items: List<ItemStack>) {
+            if (entry.page != page) {
+                return
+            }
+            elements.forEachIndexed { index, element ->
+                val slot = menuSlots.getOrNull(index) ?: 0
+                elementMap[slot] = element
+                val itemStack = items.getOrNull(index)
+                if (itemStack.isNotAir()) {
+                    inventory.setItem(slot, itemStack)
+                }
+            }
+            // 总数未知时是否存在下一页取决于已加载的页面，需要重新绘制翻页按钮
+            navigationButtons.forEach { it(inventory) }
+        }
+
+        // 生成回调
+        selfBuild { p, inventory ->
+            viewer = p
+            prefetch(p)
+            // 总数未知时，下一页加载完成后才能确定是否存在下一页
+            if (pageSource!!.size() < 0) {
+                pageEntry(page + 1).elements.thenAccept {
+                    runPrimary {
+                        if (entry.page == page) {
+                            navigationButtons.forEach { it(inventory) }
+                        }
+                    }
+                }
+            }
+            // 命中缓存
+            val cachedElements = entry.loaded()
+            val cachedItems = entry.items
+            if (cachedElements != null && cachedItems != null) {
+                apply(inventory, cachedElements, cachedItems)
+                return@selfBuild
+            }
+            if (isAsyncGenerate) {
+                render(entry, p).thenAccept { items ->
+                    val elements = entry.elements.join()
+                    runPrimary { apply(inventory, elements, items) }
+                }
+            } else {
+                entry.elements.thenAccept { elements ->
+                    runPrimary {
+                        if (entry.page == page) {
+                            val items = entry.items ?: elements.mapIndexed { index, element ->
+                                generateCallback(p, element, index, menuSlots.getOrNull(index) ?: 0)
+                            }.also { entry.items = it }
+                            apply(inventory, elements, items)
+                        }
+                    }
+                }
+            }
+        }
+        // 元素由上方回调异步写入
+        selfBuild(async = true) { _, _ -> }
+        // 生成点击回调
+        selfClick {
+            if (menuLocked) {
+                it.isCancelled = true
+            }
+            elementClickCallback(it, elementMap[it.rawSlot] ?: return@selfClick)
+        }
+        // 构建页面
+        return super.build()
+    }
+
+    /**
+     * 获取页面缓存，不存在时开始加载
+     */
+    private fun pageEntry(page: Int): PageEntry<T> {
+        return synchronized(pageCache) {
+            pageCache.getOrPut(page) {
+                val future = pageSource!!.load(page, menuSlots.size)
+                future.whenComplete { _, ex -> if (ex != null && unwrap(ex) !is CancellationException) ex.printStackTrace() }
+                PageEntry(page, future)
+            }
+        }
+    }
+
+    /**
+     * 预加载相邻页面
+     * 若设置了异步元素生成回调，则同时生成物品
+     */
+    private fun prefetch(player: Player) {
+        val size = pageSource!!.size()
+        for (i in 1..prefetchPages) {
+            val next = page + i
+            if (size < 0 || next * menuSlots.size < size) {
+                val entry = pageEntry(next)
+                if (isAsyncGenerate) {
+                    render(entry, player)
+                }
+            }
+            val previous = page - i
+            if (previous >= 0) {
+                val entry = pageEntry(previous)
+                if (isAsyncGenerate) {
+                    render(entry, player)
+                }
+            }
+        }
+    }
+
+    /**
+     * 并行生成页面物品
+     * 玩家翻页远离该页面后，尚未开始的生成任务将被丢弃
+     */
+    private fun render(entry: PageEntry<T>, player: Player): CompletableFuture<List<ItemStack>> {
+        synchronized(entry) {
+            val rendering = entry.rendering
+            if (rendering != null) {
+                return rendering
+            }
+            val future = entry.elements.thenCompose { elements ->
+                val futures = elements.mapIndexed { index, element ->
+                    CompletableFuture.supplyAsync {
+                        if (abs(entry.page - page) > prefetchPages) {
+                            throw CancellationException()
+                        }
+                        asyncGenerateCallback(player, element, index, menuSlots.getOrNull(index) ?: 0)
+                    }
+                }
+                CompletableFuture.allOf(*futures.toTypedArray()).thenApply { futures.map { it.join() } }
+            }
+            entry.rendering = future
+            future.whenComplete { items, ex ->
+                if (ex == null) {
+                    entry.items = items
+                } else {
+                    // 允许重新生成
+                    synchronized(entry) {
+                        if (entry.rendering === future) {
+                            entry.rendering = null
+                        }
+                    }
+                    if (unwrap(ex) !is CancellationException) {
+                        ex.printStackTrace()
+                    }
+                }
+            }
+            return future
+        }
+    }
+
+    private fun runPrimary(func: () -> Unit) {
+        if (isPrimaryThread) func() else submit { func() }
+    }
+
+    private fun unwrap(ex: Throwable): Throwable {
+        return if (ex is CompletionException && ex.cause != null) ex.cause!! else ex
+    }
+
+    /**
+     * 分页数据源的页面缓存
+     */
+    class PageEntry<T>(val page: Int, val elements: CompletableFuture<List<T>>) {
+
+        /** 已生成的物品 */
+        @Volatile
+        var items: List<ItemStack>? = null
+
+        /** 正在进行的异步生成 */
+        @Volatile
+        var rendering: CompletableFuture<List<ItemStack>>? = null
+
+        /** 已加载完成的元素，未完成或加载失败时返回 null */
+        fun loaded(): List<T>? {
+            return if (elements.isDone && !elements.isCompletedExceptionally) elements.join() else null
+        }
+
+        /** 取消加载与生成 */
+        fun cancel() {
+            elements.cancel(false)
+            rendering?.cancel(false)
+        }
+    }
+
     /**
      * 是否存在下一页
      */
@@ -35,6 +35,13 @@ abstract class InventoryHandler {
 
     abstract fun openInventory(player: Player, inventory: VirtualInventory, cursorItem: ItemStack = player.itemOnCursor, updateId: Boolean = true): RemoteInventory
 
+    /**
+     * 在玩家当前打开的容器序号上重新发送打开页面的数据包以修改标题，并重新同步容器内容
+     *
+     * @return 当前版本是否支持（1.13+）
+     */
+    abstract fun updateTitle(player: Player, title: String): Boolean
+
     @Inject
     @PlatformSide(Platform.BUKKIT)
     companion object {
@@ -118,6 +118,47 @@ class InventoryHandlerImpl : InventoryHandler() {
         }
     }
 
+    override fun updateTitle(player: Player, title: String): Boolean {
+        when (major) {
+            // 1.13, 1.14, 1.15, 1.16
+            in MinecraftVersion.V1_13..MinecraftVersion.V1_16 -> {
+                val handle = (player as Craft16Player).handle
+                val container = handle.activeContainer
+                // 玩家自身的背包
+                if (container.windowId == 0) {
+                    return false
+                }
+                val windowType = Craft16Container.getNotchInventoryType(InventoryViewProxy.getTopInventory(container.bukkitView))
+                val component = if (title.startsWith('{') && title.endsWith('}')) {
+                    NMS16ChatSerializer.a(title)
+                } else {
+                    Craft16ChatMessage.fromString(title)[0]
+                }
+                player.sendPacket(NMS16PacketPlayOutOpenWindow(container.windowId, windowType, component))
+                handle.updateInventory(container)
+                return true
+            }
+            // 1.17, 1.18, 1.19, 1.20, 1.21
+            in MinecraftVersion.V1_17..MinecraftVersion.V1_21 -> {
+                val container = (player as Craft19Player).handle.containerMenu
+                // 玩家自身的背包
+                if (container.containerId == 0) {
+                    return false
+                }
+                val component = if (title.startsWith('{') && title.endsWith('}')) {
+                    Craft19ChatMessage.fromJSON(title)
+                } else {
+                    Craft19ChatMessage.fromString(title)[0]
+                }
+                player.sendPacket(NMSPacketPlayOutOpenWindow(container.containerId, container.type, component))
+                container.sendAllDataToRemote()
+                return true
+            }
+            // 不支持
+            else -> return false
+        }
+    }
+
     class VInventory(
         override val inventory: VirtualInventory,
         override val id: Int,
@@ -14,6 +14,7 @@ dependencies {
     compileOnly(project(":module:minecraft:minecraft-i18n")) // 注册 TypeBossBar
     compileOnly(project(":module:bukkit:bukkit-xseries"))
     compileOnly(project(":platform:platform-bukkit"))
+    compileOnly(project(":platform:platform-bukkit-impl")) // Exchanges
     // 服务端
     compileOnly("ink.ptms.core:v12101:12101-minimize:universal")
     compileOnly("ink.ptms.core:v11200:11200-minimize")
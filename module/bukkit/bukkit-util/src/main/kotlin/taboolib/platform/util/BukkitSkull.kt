@@ -13,9 +13,12 @@ import org.tabooproject.reflex.Reflex.Companion.getProperty
 import org.tabooproject.reflex.Reflex.Companion.setProperty
 import taboolib.common5.util.decodeBase64
 import taboolib.library.xseries.XMaterial
+import taboolib.platform.bukkit.Exchanges
 import java.net.MalformedURLException
 import java.net.URL
 import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.function.Function
 
 /**
@@ -34,6 +37,23 @@ object BukkitSkull {
     /** 是否使用 1.18.2 及以上版本, 该版本拥有 org.bukkit.profile.PlayerProfile */
     private val use18 = runCatching { Class.forName("org.bukkit.profile.PlayerProfile") }.isSuccess
 
+    /** 缓存容量, 超出后移除最久未使用的条目, 由所有插件共享 */
+    var cacheSize: Int
+        get() = sharedCacheSize.get()
+        set(value) = sharedCacheSize.set(value)
+
+    /**
+     * 以下缓存通过 Exchanges 在所有插件之间共享
+     * 仅存放 JDK 与服务端中的类型, 避免插件卸载后其类加载器被引用, 访问时需对缓存本身加锁
+     */
+    private val sharedCacheSize by lazy { Exchanges.getOrPut(Exchanges.SKULL_CACHE_SIZE) { AtomicInteger(4096) } }
+
+    /** 纹理 → 档案 (PlayerProfile 或 GameProfile) 缓存 */
+    private val profileCache by lazy { Exchanges.getOrPut(Exchanges.SKULL_PROFILE_CACHE) { createCache<Any>() } }
+
+    /** 纹理 → 应用了纹理的默认头颅缓存 */
+    private val itemCache by lazy { Exchanges.getOrPut(Exchanges.SKULL_ITEM_CACHE) { createCache<ItemStack>() } }
+
     /** 旧版本 Gson 的 JsonParser 没有 parseString 静态方法, 要使用这个 */
     private val JSON_PARSER = JsonParser()
 
@@ -83,7 +103,10 @@ object BukkitSkull {
      * @return 应用了纹理的物品
      */
     fun applySkull(headBase64: String, func: Function<ItemStack, ItemStack?>?): ItemStack {
-        return applySkull(DEFAULT_HEAD.clone(), headBase64, func)
+        if (headBase64.length <= 20) {
+            return applySkull(DEFAULT_HEAD.clone(), headBase64, func)
+        }
+        return applySkull(headBase64)
     }
 
     /**
@@ -92,7 +115,44 @@ object BukkitSkull {
      * @return 应用了纹理的物品
      */
     fun applySkull(headBase64: String): ItemStack {
-        return applySkull(DEFAULT_HEAD.clone(), headBase64, null)
+        // 玩家名称对应的纹理可能发生变化, 不做缓存
+        if (headBase64.length <= 20) {
+            return applySkull(DEFAULT_HEAD.clone(), headBase64, null)
+        }
+        val cached = synchronized(itemCache) { itemCache[headBase64] }
+        if (cached != null) {
+            return cached.clone()
+        }
+        val item = applySkull(DEFAULT_HEAD.clone(), headBase64, null)
+        putCache(itemCache, headBase64, item.clone())
+        return item
+    }
+
+    /**
+     * 异步构建玩家头颅, 纹理通过 [BukkitSkullResolver] 解析并缓存
+     * 玩家不存在或解析失败时返回默认头颅
+     *
+     * @param name 玩家名称
+     * @return 应用了纹理的物品, 在解析线程中完成
+     */
+    fun applySkullAsync(name: String): CompletableFuture<ItemStack> {
+        return BukkitSkullResolver.resolve(name).thenApply { texture ->
+            if (texture != null) applySkull(texture) else DEFAULT_HEAD.clone()
+        }
+    }
+
+    /**
+     * 异步应用玩家纹理到物品上, 纹理通过 [BukkitSkullResolver] 解析并缓存
+     * 玩家不存在或解析失败时不做修改
+     *
+     * @param item 要应用纹理的物品, 会对源物品进行修改
+     * @param name 玩家名称
+     * @return 应用了纹理的物品, 在解析线程中完成
+     */
+    fun applySkullAsync(item: ItemStack, name: String): CompletableFuture<ItemStack> {
+        return BukkitSkullResolver.resolve(name).thenApply { texture ->
+            if (texture != null) applySkull(item, texture, null) else item
+        }
     }
 
     /**
@@ -115,6 +175,11 @@ object BukkitSkull {
                     return result
                 }
             }
+            // 如果解析器中已缓存该玩家的纹理, 则直接使用纹理, 避免 getOfflinePlayer 阻塞查询
+            val texture = BukkitSkullResolver.getCached(headBase64)
+            if (texture != null) {
+                return applySkull(item, texture, null)
+            }
             // 如果没有自定义处理函数, 或自定义函数处理结果为空 (一般是开发者认为现有 API 因为种种原因无法处理)
             if (use12) {
                 meta.owningPlayer = Bukkit.getOfflinePlayer(headBase64)
@@ -124,29 +189,60 @@ object BukkitSkull {
             item.itemMeta = meta
             return item
         }
+        // 同一纹理的档案只创建一次
+        val profile = synchronized(profileCache) { profileCache[headBase64] } ?: createProfile(headBase64).also { putCache(profileCache, headBase64, it) }
         // 下面这是 Spigot 1.18.1 发布之后添加的头颅工具, 准确来说从 1.18.2 开始
+        if (use18) {
+            meta.ownerProfile = profile as org.bukkit.profile.PlayerProfile
+        } else {
+            meta.setProperty("profile", profile)
+        }
+        item.itemMeta = meta
+        return item
+    }
+
+    /**
+     * 根据纹理创建档案
+     * 1.18.2 及以上版本为 PlayerProfile, 否则为 GameProfile
+     */
+    private fun createProfile(headBase64: String): Any {
+        // NOTICE 下面这一行代码我不太清楚是如何工作的, 但是它工作正常. 来自 TrMenu
+        val texture = if (headBase64.length in 60..100) encodeTexture(headBase64) else headBase64
         if (use18) {
             val profile = Bukkit.createPlayerProfile(UUID(0, 0), "TabooLib")
             val textures = profile.textures
-            // NOTICE 下面这一行代码我不太清楚是如何工作的, 但是它工作正常. 来自 TrMenu
-            val texture = if (headBase64.length in 60..100) encodeTexture(headBase64) else headBase64
-            val url = URL(getTextureURLFromBase64(texture))
             try {
-                textures.skin = url
+                textures.skin = URL(getTextureURLFromBase64(texture))
             } catch (e: MalformedURLException) {
                 throw IllegalStateException("Invalid skull base64 content", e)
             }
-            meta.ownerProfile = profile
-        } else {
-            // 如果使用 1.18.1 及以下版本, 则使用老方法处理
-            val profile = GameProfile(UUID(0, 0), "TabooLib")
-            val texture = if (headBase64.length in 60..100) encodeTexture(headBase64) else headBase64
-            profile.properties.put("textures", Property("textures", texture, "TabooLib_TexturedSkull"))
+            return profile
+        }
+        // 如果使用 1.18.1 及以下版本, 则使用老方法处理
+        val profile = GameProfile(UUID(0, 0), "TabooLib")
+        profile.properties.put("textures", Property("textures", texture, "TabooLib_TexturedSkull"))
+        return profile
+    }
 
-            meta.setProperty("profile", profile)
+    /**
+     * 创建按访问顺序排列的缓存, 淘汰由 [putCache] 完成
+     */
+    private fun <T : Any> createCache(): MutableMap<String, T> {
+        return Collections.synchronizedMap(LinkedHashMap<String, T>(256, 0.75f, true))
+    }
+
+    /**
+     * 写入缓存, 超出 [cacheSize] 时移除最久未使用的条目
+     */
+    private fun <T : Any> putCache(cache: MutableMap<String, T>, key: String, value: T) {
+        synchronized(cache) {
+            cache[key] = value
+            val iterator = cache.entries.iterator()
+            while (cache.size > cacheSize && iterator.hasNext()) {
+                iterator.next()
+                iterator.remove()
+            }
         }
-        item.itemMeta = meta
-        return item
     }
 
     /**
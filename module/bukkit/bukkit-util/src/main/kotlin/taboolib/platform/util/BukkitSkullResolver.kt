@@ -0,0 +1,251 @@
+@file:Suppress("DEPRECATION")
+
+package taboolib.platform.util
+
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import taboolib.common.Inject
+import taboolib.common.LifeCycle
+import taboolib.common.io.newFile
+import taboolib.common.platform.Awake
+import taboolib.common.platform.Platform
+import taboolib.common.platform.PlatformSide
+import taboolib.common.platform.function.warning
+import taboolib.platform.bukkit.Exchanges
+import java.io.File
+import java.net.HttpURLConnection
+import java.net.URL
+import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * 玩家名称 → 头颅纹理解析器
+ *
+ * 通过玩家名称获取头颅纹理（Base64）时需要访问网络，该工具在独立线程中完成解析，
+ * 并将结果缓存在内存与磁盘中（所有插件共享同一个文件），同一名称的并发请求只会解析一次。
+ * 磁盘缓存在解析后延迟 [saveDelay] 写入，写入前与文件中的现有内容合并，不会覆盖其他插件的记录。
+ *
+ * 解析方式可以通过 [lookup] 替换，例如接入 SkinsRestorer 或在测试中使用本地数据：
+ * ```
+ * BukkitSkullResolver.lookup = BukkitSkullResolver.Lookup { name -> localTextures[name] }
+ * BukkitSkullResolver.resolve("bkm016").thenAccept { texture -> ... }
+ * ```
+ *
+ * TabooLib
+ * taboolib.platform.util.BukkitSkullResolver
+ *
+ * @since 2026/10/19 20:40
+ */
+@Inject
+@PlatformSide(Platform.BUKKIT)
+object BukkitSkullResolver {
+
+    /**
+     * 纹理查询方式
+     */
+    fun interface Lookup {
+
+        /**
+         * 查询玩家名称对应的纹理，在异步线程中调用
+         *
+         * @return 纹理的 Base64 编码，玩家不存在时返回 null
+         */
+        fun lookup(name: String): String?
+    }
+
+    /** 通过 Mojang API 查询 */
+    val MOJANG = Lookup { name ->
+        val profile = readJson("https://api.mojang.com/users/profiles/minecraft/$name") ?: return@Lookup null
+        val id = profile["id"].asString
+        val session = readJson("https://sessionserver.mojang.com/session/minecraft/profile/$id") ?: return@Lookup null
+        session["properties"].asJsonArray
+            .map { it.asJsonObject }
+            .firstOrNull { it["name"].asString == "textures" }
+            ?.get("value")
+            ?.asString
+    }
+
+    /** 纹理查询方式 */
+    var lookup: Lookup = MOJANG
+
+    /** 缓存有效期（毫秒），查询失败（玩家不存在）的结果同样会被缓存 */
+    var expireTime = TimeUnit.HOURS.toMillis(12)
+
+    /** 磁盘缓存文件，位于服务端根目录下，由所有插件共享 */
+    var cacheFile = File("cache/taboolib/skull_textures.properties")
+
+    /** 磁盘缓存的写入延迟（毫秒），期间的多次解析合并为一次写入 */
+    var saveDelay = TimeUnit.SECONDS.toMillis(10)
+
+    /** 内存缓存 */
+    private val cache by lazy { load() }
+
+    /** 正在解析的请求 */
+    private val pending = ConcurrentHashMap<String, CompletableFuture<String?>>()
+
+    /** 已移除的名称 → 移除时间，写入磁盘时用于排除文件中较早的记录 */
+    private val removed = ConcurrentHashMap<String, Long>()
+
+    /** 是否已安排写入 */
+    private val saveScheduled = AtomicBoolean()
+
+    /** 解析线程 */
+    private val executor = Executors.newScheduledThreadPool(2) { r -> Thread(r, "TabooLib-SkullResolver").apply { isDaemon = true } }
+
+    /** 所有插件共享的文件读写锁 */
+    private val fileLock by lazy { Exchanges.getOrPut(Exchanges.SKULL_TEXTURE_FILE_LOCK) { Any() } }
+
+    /** 旧版本 Gson 的 JsonParser 没有 parseString 静态方法 */
+    private val JSON_PARSER = JsonParser()
+
+    /**
+     * 获取已缓存且未过期的纹理，不会发起解析
+     */
+    fun getCached(name: String): String? {
+        val entry = cache[name.lowercase()] ?: return null
+        return if (entry.isExpired()) null else entry.texture
+    }
+
+    /**
+     * 解析玩家名称对应的纹理
+     * 缓存有效时立即完成，否则在解析线程中通过 [lookup] 查询
+     *
+     * @return 纹理的 Base64 编码，玩家不存在或查询失败时为 null
+     */
+    fun resolve(name: String): CompletableFuture<String?> {
+        val key = name.lowercase()
+        val entry = cache[key]
+        if (entry != null && !entry.isExpired()) {
+            return CompletableFuture.completedFuture(entry.texture)
+        }
+        val future = pending.computeIfAbsent(key) {
+            CompletableFuture.supplyAsync({
+                val texture = try {
+                    lookup.lookup(name)
+                } catch (ex: Throwable) {
+                    // 查询失败时不写入缓存，以便下次重试
+                    warning("Failed to resolve skull texture of $name: $ex")
+                    return@supplyAsync entry?.texture
+                }
+                cache[key] = Entry(texture, System.currentTimeMillis())
+                removed.remove(key)
+                scheduleSave()
+                texture
+            }, executor)
+        }
+        future.whenComplete { _, _ -> pending.remove(key, future) }
+        return future
+    }
+
+    /**
+     * 移除指定玩家的缓存
+     */
+    fun invalidate(name: String) {
+        val key = name.lowercase()
+        cache.remove(key)
+        removed[key] = System.currentTimeMillis()
+        scheduleSave()
+    }
+
+    /**
+     * 立即将缓存写入磁盘
+     */
+    fun save() {
+        saveScheduled.set(false)
+        synchronized(fileLock) {
+            // 合并其他插件写入的内容，同一名称保留较新的记录
+            read().forEach { (key, entry) ->
+                val removedTime = removed[key]
+                if (removedTime == null || entry.time > removedTime) {
+                    cache.merge(key, entry) { a, b -> if (b.time > a.time) b else a }
+                }
+            }
+            write()
+            removed.clear()
+        }
+    }
+
+    @Awake(LifeCycle.DISABLE)
+    private fun onDisable() {
+        // 写入尚未写入的解析结果
+        if (saveScheduled.get()) {
+            save()
+        }
+    }
+
+    private fun scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            executor.schedule({ save() }, saveDelay, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    private fun load(): ConcurrentHashMap<String, Entry> {
+        return ConcurrentHashMap(synchronized(fileLock) { read() })
+    }
+
+    private fun read(): Map<String, Entry> {
+        val map = HashMap<String, Entry>()
+        if (!cacheFile.exists()) {
+            return map
+        }
+        try {
+            val properties = Properties()
+            cacheFile.reader().use { properties.load(it) }
+            properties.forEach { (key, value) ->
+                // 时间;纹理
+                val text = value.toString()
+                val time = text.substringBefore(';').toLongOrNull() ?: return@forEach
+                map[key.toString()] = Entry(text.substringAfter(';').ifEmpty { null }, time)
+            }
+        } catch (ex: Throwable) {
+            warning("Failed to load skull texture cache: $ex")
+        }
+        return map
+    }
+
+    private fun write() {
+        try {
+            val properties = Properties()
+            cache.forEach { (key, entry) ->
+                if (!entry.isExpired()) {
+                    properties[key] = "${entry.time};${entry.texture ?: ""}"
+                }
+            }
+            // 先写入临时文件，避免多个插件同时读写时读取到不完整的内容
+            val temp = newFile(File(cacheFile.path + ".tmp"))
+            temp.writer().use { properties.store(it, null) }
+            if (!temp.renameTo(cacheFile)) {
+                cacheFile.delete()
+                temp.renameTo(cacheFile)
+            }
+        } catch (ex: Throwable) {
+            warning("Failed to save skull texture cache: $ex")
+        }
+    }
+
+    private fun readJson(url: String): JsonObject? {
+        val connection = URL(url).openConnection() as HttpURLConnection
+        connection.connectTimeout = 5000
+        connection.readTimeout = 5000
+        try {
+            // 玩家不存在时返回 204 或 404
+            if (connection.responseCode != 200) {
+                return null
+            }
+            return JSON_PARSER.parse(connection.inputStream.reader().use { it.readText() }).asJsonObject
+        } finally {
+            connection.disconnect()
+        }
+    }
+
+    private class Entry(val texture: String?, val time: Long) {
+
+        fun isExpired(): Boolean {
+            return System.currentTimeMillis() - time > expireTime
+        }
+    }
+}
@@ -6,4 +6,8 @@ dependencies {
     compileOnly(project(":common-env"))
     compileOnly(project(":common-platform-api"))
     compileOnly(project(":common-util"))
+    // 基准测试
+    testImplementation("net.md-5:bungeecord-chat:1.20")
+    testImplementation("org.openjdk.jmh:jmh-core:1.37")
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import net.md_5.bungee.api.ChatColor;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,6 +14,12 @@ import java.util.Optional;
  */
 public class HexColor {
 
+    private static final String ALL_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    /** 颜色表达式缓存（直接映射，容量为 2 的幂） */
+    private static final int CACHE_SIZE = 512;
+    private static final CacheEntry[] CACHE = new CacheEntry[CACHE_SIZE];
+
     private static boolean isLegacy = false;
 
     static {
@@ -39,73 +47,136 @@ public class HexColor {
      * @param in 字符串
      * @return String
      */
-    @SuppressWarnings("CallToPrintStackTrace")
     @NotNull
     public static String translate(String in) {
         if (isLegacy) {
             return ChatColor.translateAlternateColorCodes('&', in);
         }
-        StringBuilder builder = new StringBuilder();
-        char[] chars = in.toCharArray();
-        for (int i = 0; i < chars.length; i++) {
-            if (i + 1 < chars.length && chars[i] == '&' && chars[i + 1] == '{') {
-                ChatColor chatColor = null;
-                char[] match = new char[0];
-                for (int j = i + 2; j < chars.length && chars[j] != '}'; j++) {
-                    match = arrayAppend(match, chars[j]);
-                }
-                if (match.length == 11 && (match[3] == ',' || match[3] == '-') && (match[7] == ',' || match[7] == '-')) {
-                    chatColor = ChatColor.of(new Color(toInt(match, 0, 3), toInt(match, 4, 7), toInt(match, 8, 11)));
-                } else if (match.length == 7 && match[0] == '#') {
-                    try {
-                        chatColor = ChatColor.of(toString(match));
-                    } catch (IllegalArgumentException ignored) {
-                    }
-                } else {
-                    Optional<StandardColors> knownColor = StandardColors.match(toString(match));
-                    if (knownColor.isPresent()) {
-                        chatColor = knownColor.get().toChatColor();
-                    }
+        // 不含任何颜色符号时直接返回
+        if (in.indexOf('&') == -1 && in.indexOf(ChatColor.COLOR_CHAR) == -1) {
+            return in;
+        }
+        int length = in.length();
+        StringBuilder builder = new StringBuilder(length + (length >> 2) + 16);
+        for (int i = 0; i < length; i++) {
+            char c = in.charAt(i);
+            char next = i + 1 < length ? in.charAt(i + 1) : 0;
+            if (c == '&' && next == '{') {
+                int end = in.indexOf('}', i + 2);
+                if (end == -1) {
+                    end = length;
                 }
-                if (chatColor != null) {
-                    builder.append(chatColor);
-                    i += match.length + 2;
+                String code = resolve(in, i + 2, end);
+                if (code != null) {
+                    builder.append(code);
+                    i = end;
                 }
+                // 无法识别的颜色表达式会丢弃 '&' 符号，与旧版行为保持一致
+            } else if ((c == '&' || c == ChatColor.COLOR_CHAR) && next == 'r') {
+                // 1.20.4 不再支持该写法，该模块无法判断版本，因此全部替换为白色
+                // 若需要恢复默认色请使用 SimpleComponent 中的 reset 属性
+                builder.append(ChatColor.COLOR_CHAR).append('f');
+                i++;
+            } else if (c == '&' && next != 0 && ALL_CODES.indexOf(next) > -1) {
+                builder.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(next));
+                i++;
             } else {
-                builder.append(chars[i]);
+                builder.append(c);
             }
         }
-        String colorString = builder.toString();
-        // 1.20.4 不再支持该写法，该模块无法判断版本，因此全部替换为白色
-        // 若需要恢复默认色请使用 SimpleComponent 中的 reset 属性
-        colorString = colorString.replace("&r", "&f").replace("§r", "§f");
-        return ChatColor.translateAlternateColorCodes('&', colorString);
+        return builder.toString();
+    }
+
+    /**
+     * 对字符串列表中的特殊颜色表达式进行转换
+     *
+     * @param in 字符串列表
+     * @return List
+     */
+    @NotNull
+    public static List<String> translate(List<String> in) {
+        List<String> list = new ArrayList<>(in.size());
+        for (String line : in) {
+            list.add(translate(line));
+        }
+        return list;
     }
 
     public static String getColorCode(int color) {
         return ChatColor.of(new Color(color)).toString();
     }
 
-    private static char[] arrayAppend(char[] chars, char in) {
-        char[] newChars = new char[chars.length + 1];
-        System.arraycopy(chars, 0, newChars, 0, chars.length);
-        newChars[chars.length] = in;
-        return newChars;
+    /**
+     * 解析 &amp;{...} 中的颜色表达式，结果将被缓存
+     *
+     * @param in    字符串
+     * @param start 表达式起始位置（包含）
+     * @param end   表达式结束位置（不包含）
+     * @return 颜色代码，无法识别时返回 null
+     */
+    private static String resolve(String in, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + in.charAt(i);
+        }
+        int index = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        CacheEntry entry = CACHE[index];
+        if (entry != null && entry.key.length() == length && in.regionMatches(start, entry.key, 0, length)) {
+            return entry.code;
+        }
+        String key = in.substring(start, end);
+        String code = resolve(key);
+        CACHE[index] = new CacheEntry(key, code);
+        return code;
+    }
+
+    private static String resolve(String match) {
+        int length = match.length();
+        if (length == 11 && (match.charAt(3) == ',' || match.charAt(3) == '-') && (match.charAt(7) == ',' || match.charAt(7) == '-')) {
+            int r = toInt(match, 0);
+            int g = toInt(match, 4);
+            int b = toInt(match, 8);
+            if (r > 255 || g > 255 || b > 255 || r < 0 || g < 0 || b < 0) {
+                return null;
+            }
+            return ChatColor.of(new Color(r, g, b)).toString();
+        } else if (length == 7 && match.charAt(0) == '#') {
+            try {
+                return ChatColor.of(match).toString();
+            } catch (IllegalArgumentException ignored) {
+                return null;
+            }
+        } else {
+            Optional<StandardColors> knownColor = StandardColors.match(match);
+            // 重置符号同样被替换为白色
+            return knownColor.map(color -> color == StandardColors.RESET ? ChatColor.WHITE.toString() : color.toChatColor().toString()).orElse(null);
+        }
     }
 
-    private static String toString(char[] chars) {
-        StringBuilder builder = new StringBuilder();
-        for (char c : chars) {
-            builder.append(c);
+    /**
+     * 读取三位数字，非数字时返回 -1
+     */
+    private static int toInt(String in, int start) {
+        int value = 0;
+        for (int i = start; i < start + 3; i++) {
+            char c = in.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
         }
-        return builder.toString();
+        return value;
     }
 
-    private static int toInt(char[] chars, int start, int end) {
-        StringBuilder builder = new StringBuilder();
-        for (int i = start; i < end; i++) {
-            builder.append(chars[i]);
+    private static class CacheEntry {
+
+        final String key;
+        final String code;
+
+        CacheEntry(String key, String code) {
+            this.key = key;
+            this.code = code;
         }
-        return Integer.parseInt(builder.toString());
     }
 }
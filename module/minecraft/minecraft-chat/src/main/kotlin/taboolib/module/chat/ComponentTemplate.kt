@@ -0,0 +1,39 @@
+package taboolib.module.chat
+
+import taboolib.common.platform.ProxyCommandSender
+
+/**
+ * 预编译的 SimpleComponent 模板
+ *
+ * 源文本仅解析一次，文本与属性中的 {0}、{name} 作为参数槽位保留，
+ * 渲染时只重新构建含有槽位的文本块，其余文本块直接复用编译时的构建结果。
+ * 不含槽位的模板会缓存最终的 JSON 文本，广播时仅序列化一次。
+ *
+ * 参数规则与 replaceWithOrder 相同：按顺序传入的参数对应 {0}、{1}，
+ * 以 Pair(值, 名称) 形式传入的参数对应 {名称}。
+ *
+ * TabooLib
+ * taboolib.module.chat.ComponentTemplate
+ *
+ * @since 2026/10/19 15:20
+ */
+interface ComponentTemplate {
+
+    /** 是否含有参数槽位 */
+    val hasArguments: Boolean
+
+    /** 填充参数并构建为 [ComponentText] */
+    fun render(vararg args: Any): ComponentText
+
+    /** 填充参数并转换为原始信息 */
+    fun toRawMessage(vararg args: Any): String
+
+    /** 填充参数并转换为带颜色的纯文本 */
+    fun toLegacyText(vararg args: Any): String
+
+    /** 填充参数并发送给玩家 */
+    fun sendTo(sender: ProxyCommandSender, vararg args: Any)
+
+    /** 填充参数并广播给所有玩家，所有玩家共享同一份序列化结果 */
+    fun broadcast(vararg args: Any)
+}
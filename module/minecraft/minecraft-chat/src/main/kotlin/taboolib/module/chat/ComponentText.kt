@@ -1,6 +1,7 @@
 package taboolib.module.chat
 
 import net.md_5.bungee.api.chat.BaseComponent
+import taboolib.common.platform.ProxyCommandSender
 import java.awt.Color
 
 /**
@@ -139,6 +140,24 @@ interface ComponentText : Source {
     /** 移除颜色 */
     fun uncolor(): ComponentText
 
+    /**
+     * 冻结为不可变的副本，原始信息与文本在首次使用时缓存
+     * 默认返回自身，即不支持冻结
+     */
+    fun freeze(): ComponentText {
+        return this
+    }
+
+    /** 批量发送，支持冻结时所有接收者共享同一份序列化结果 */
+    fun sendTo(senders: Collection<ProxyCommandSender>) {
+        val frozen = freeze()
+        if (frozen === this) {
+            senders.forEach { sendTo(it) }
+        } else {
+            frozen.sendTo(senders)
+        }
+    }
+
     companion object {
 
         fun empty(): ComponentText {
@@ -61,6 +61,9 @@ object Components {
         }
     }
 
+    /** 解析 TabooLib SimpleComponent 并编译为模板，见 [ComponentTemplate] */
+    fun compileSimple(text: String, transfer: TextTransfer.() -> Unit = {}) = parseSimple(text).compile(transfer)
+
     /** 解析 TabooLib SimpleComponent 并转换为 Raw */
     fun parseSimpleToRaw(text: String, transfer: TextTransfer.() -> Unit = {}) = parseSimple(text).buildToRaw(transfer)
 
@@ -1,6 +1,7 @@
 package taboolib.module.chat
 
 import taboolib.common.platform.ProxyCommandSender
+import taboolib.module.chat.impl.StaticComponentTemplate
 
 /**
  * TabooLib
@@ -33,6 +34,14 @@ interface SimpleComponent {
         return buildColored(transfer).toRawMessage()
     }
 
+    /** 编译为模板，见 [ComponentTemplate] */
+    fun compile() = compile { }
+
+    /** 编译为模板，见 [ComponentTemplate] */
+    fun compile(transfer: TextTransfer.() -> Unit): ComponentTemplate {
+        return StaticComponentTemplate(build(transfer))
+    }
+
     /** 广播给所有玩家 */
     fun broadcast() {
         build().broadcast()
@@ -42,7 +42,7 @@ fun String.uncolored() = ChatColor.stripColor(this.colored())!!
 /**
  * 对列表上色
  */
-fun List<String>.colored() = map { it.colored() }
+fun List<String>.colored(): List<String> = HexColor.translate(this)
 
 /**
  * 对列表去色
@@ -52,7 +52,8 @@ class DefaultComponent() : ComponentText {
     }
 
     override fun broadcast() {
-        onlinePlayers().forEach { sendTo(it) }
+        // 仅序列化一次
+        sendTo(onlinePlayers())
     }
 
     override fun sendTo(sender: ProxyCommandSender) {
@@ -86,9 +87,9 @@ class DefaultComponent() : ComponentText {
     }
 
     override fun append(other: ComponentText): ComponentText {
-        other as? DefaultComponent ?: throw UnsupportedVersionException()
+        val component = other.toBaseComponent() ?: throw UnsupportedVersionException()
         flush()
-        latest += other.component
+        latest += component
         return this
     }
 
@@ -98,7 +99,7 @@ class DefaultComponent() : ComponentText {
 
     override fun appendTranslation(text: String, obj: List<Any>): ComponentText {
         flush()
-        latest += TranslatableComponent(text, obj.map { if (it is DefaultComponent) it.component else it })
+        latest += TranslatableComponent(text, obj.map { if (it is ComponentText) it.toBaseComponent() ?: it else it })
         return this
     }
 
@@ -136,13 +137,13 @@ class DefaultComponent() : ComponentText {
     }
 
     override fun hoverText(text: ComponentText): ComponentText {
-        text as? DefaultComponent ?: error("Unsupported component type.")
+        val component = text.toBaseComponent() ?: error("Unsupported component type.")
         try {
-            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, Text(arrayOf(text.component))) }
+            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, Text(arrayOf(component))) }
         } catch (_: NoClassDefFoundError) {
-            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, arrayOf(text.component)) }
+            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, arrayOf(component)) }
         } catch (_: NoSuchMethodError) {
-            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, arrayOf(text.component)) }
+            latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_TEXT, arrayOf(component)) }
         }
         return this
     }
@@ -170,7 +171,7 @@ class DefaultComponent() : ComponentText {
 
     override fun hoverEntity(id: String, type: String?, name: ComponentText?): ComponentText {
         try {
-            val component = if (name is DefaultComponent) name.component else null
+            val component = name?.toBaseComponent()
             latest.forEach { it.hoverEvent = HoverEvent(HoverEvent.Action.SHOW_ENTITY, Entity(type, id, component)) }
         } catch (_: NoClassDefFoundError) {
             TODO("Unsupported hover entity for this version.")
@@ -335,6 +336,15 @@ class DefaultComponent() : ComponentText {
         return RawMessage(this)
     }
 
+    override fun freeze(): ComponentText {
+        return FrozenComponent(this)
+    }
+
+    /** 复制，所有文本块均为深拷贝 */
+    fun copy(): DefaultComponent {
+        return DefaultComponent((left + latest).map { it.duplicate() })
+    }
+
     /** 释放缓冲区 */
     fun flush() {
         left.addAll(latest)
@@ -344,4 +354,13 @@ class DefaultComponent() : ComponentText {
     override fun toString(): String {
         return toRawMessage()
     }
+
+    /** 获取可追加的 [BaseComponent]，冻结的组件将返回其副本 */
+    private fun ComponentText.toBaseComponent(): BaseComponent? {
+        return when (this) {
+            is DefaultComponent -> component
+            is FrozenComponent -> toSpigotObject()
+            else -> null
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package taboolib.module.chat.impl
+
+import taboolib.common.platform.ProxyCommandSender
+import taboolib.common.platform.ProxyPlayer
+import taboolib.common.platform.function.onlinePlayers
+import taboolib.common.util.replaceWithOrder
+import taboolib.module.chat.ComponentTemplate
+import taboolib.module.chat.ComponentText
+import taboolib.module.chat.TextTransfer
+
+/**
+ * TabooLib
+ * taboolib.module.chat.impl.DefaultComponentTemplate
+ *
+ * @since 2026/10/19 15:20
+ */
+class DefaultComponentTemplate(val component: DefaultSimpleComponent, val transfer: TextTransfer.() -> Unit) : ComponentTemplate {
+
+    /** 编译时构建完成的静态文本块 */
+    private val prebuilt = HashMap<TextBlock, DefaultComponent>()
+
+    override val hasArguments: Boolean
+
+    /** 不含槽位时的完整构建结果 */
+    private val static by lazy(LazyThreadSafetyMode.PUBLICATION) { component.build(TextTransfer(component).also(transfer)) as DefaultComponent }
+    private val staticRaw by lazy(LazyThreadSafetyMode.PUBLICATION) { static.toRawMessage() }
+    private val staticLegacy by lazy(LazyThreadSafetyMode.PUBLICATION) { static.toLegacyText() }
+
+    init {
+        val dynamic = HashMap<TextBlock, Boolean>()
+        fun isDynamic(block: TextBlock): Boolean {
+            return dynamic.getOrPut(block) {
+                // 子文本块需要全部检查
+                block.subBlocks.map { isDynamic(it) }.contains(true) || block.hasArguments()
+            }
+        }
+        hasArguments = component.root.map { isDynamic(it) }.contains(true)
+        // 仅在含有槽位时预构建静态文本块
+        if (hasArguments) {
+            val base = TextTransfer(component).also(transfer)
+            fun register(block: TextBlock) {
+                if (isDynamic(block)) {
+                    block.subBlocks.forEach { register(it) }
+                } else {
+                    prebuilt[block] = block.build(base) as DefaultComponent
+                }
+            }
+            component.root.filter { it !is TextBlock.NewLine }.forEach { register(it) }
+        }
+    }
+
+    override fun render(vararg args: Any): ComponentText {
+        if (!hasArguments) {
+            return static.copy()
+        }
+        val newTransfer = TextTransfer(component)
+        // 先填充参数，再执行其他转换
+        if (args.isNotEmpty()) {
+            newTransfer.transform { it.replaceWithOrder(*args) }
+        }
+        transfer(newTransfer)
+        return component.build(newTransfer, prebuilt)
+    }
+
+    override fun toRawMessage(vararg args: Any): String {
+        return if (hasArguments) render(*args).toRawMessage() else staticRaw
+    }
+
+    override fun toLegacyText(vararg args: Any): String {
+        return if (hasArguments) render(*args).toLegacyText() else staticLegacy
+    }
+
+    override fun sendTo(sender: ProxyCommandSender, vararg args: Any) {
+        if (sender is ProxyPlayer) {
+            sender.sendRawMessage(toRawMessage(*args))
+        } else {
+            sender.sendMessage(toLegacyText(*args))
+        }
+    }
+
+    override fun broadcast(vararg args: Any) {
+        val players = onlinePlayers()
+        if (players.isEmpty()) {
+            return
+        }
+        val raw = toRawMessage(*args)
+        players.forEach { it.sendRawMessage(raw) }
+    }
+}
+
+/**
+ * 由已构建的 [ComponentText] 组成的静态模板
+ * 用于无法解析的 SimpleComponent 等场景
+ */
+class StaticComponentTemplate(val component: ComponentText) : ComponentTemplate {
+
+    override val hasArguments = false
+
+    private val raw by lazy(LazyThreadSafetyMode.PUBLICATION) { component.toRawMessage() }
+    private val legacy by lazy(LazyThreadSafetyMode.PUBLICATION) { component.toLegacyText() }
+
+    override fun render(vararg args: Any): ComponentText {
+        return (component as? DefaultComponent)?.copy() ?: component
+    }
+
+    override fun toRawMessage(vararg args: Any): String {
+        return raw
+    }
+
+    override fun toLegacyText(vararg args: Any): String {
+        return legacy
+    }
+
+    override fun sendTo(sender: ProxyCommandSender, vararg args: Any) {
+        if (sender is ProxyPlayer) {
+            sender.sendRawMessage(raw)
+        } else {
+            sender.sendMessage(legacy)
+        }
+    }
+
+    override fun broadcast(vararg args: Any) {
+        onlinePlayers().forEach { it.sendRawMessage(raw) }
+    }
+}
+
+/**
+ * 文本中是否可能含有 {...} 参数槽位
+ */
+internal fun String.containsArgumentSlot(): Boolean {
+    val start = indexOf('{')
+    return start != -1 && indexOf('}', start + 2) != -1
+}
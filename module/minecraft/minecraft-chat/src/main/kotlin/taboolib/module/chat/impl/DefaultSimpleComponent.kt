@@ -1,6 +1,7 @@
 package taboolib.module.chat.impl
 
 import taboolib.common.util.t
+import taboolib.module.chat.ComponentTemplate
 import taboolib.module.chat.ComponentText
 import taboolib.module.chat.Components
 import taboolib.module.chat.SimpleComponent
@@ -51,19 +52,34 @@ class DefaultSimpleComponent(val source: String): SimpleComponent {
 
     /** 构建为 RawMessage */
     fun build(transfer: TextTransfer): ComponentText {
+        return build(transfer, emptyMap())
+    }
+
+    /**
+     * 构建为 RawMessage
+     *
+     * @param prebuilt 已预先构建的文本块，构建时直接复用其副本
+     */
+    fun build(transfer: TextTransfer, prebuilt: Map<TextBlock, DefaultComponent>): ComponentText {
         val rawMessage = Components.empty()
         var i = 0
         var lastBlock: ComponentText? = null
-        val clone = root.toMutableList()
-        // 移除最后一个空白文本块
-        if (clone.isNotEmpty() && clone.last().build(transfer).toRawMessage() == rawMessage.toRawMessage()) {
-            clone.removeLast()
+        var size = root.size
+        // 移除最后一个空白文本块，构建结果在后续直接复用
+        var tail: ComponentText? = null
+        if (size > 0) {
+            tail = root[size - 1].let { prebuilt[it]?.copy() ?: it.build(transfer, prebuilt) }
+            if (tail.toRawMessage() == emptyRawMessage) {
+                size--
+                tail = null
+            }
         }
-        clone.forEach { block ->
+        for (index in 0 until size) {
+            val block = root[index]
             if (block is TextBlock.NewLine) {
                 rawMessage.newLine()
             } else {
-                lastBlock = block.build(transfer)
+                lastBlock = if (index == root.size - 1) tail!! else prebuilt[block]?.copy() ?: block.build(transfer, prebuilt)
                 rawMessage.append(lastBlock!!)
             }
             i++
@@ -75,6 +91,11 @@ class DefaultSimpleComponent(val source: String): SimpleComponent {
         return rawMessage
     }
 
+    /** 编译为模板 */
+    override fun compile(transfer: TextTransfer.() -> Unit): ComponentTemplate {
+        return DefaultComponentTemplate(this, transfer)
+    }
+
     /** 创建同级文本块 */
     private fun TextBlock.createSibling(): TextBlock {
         val newBlock = TextBlock(level, parent = parent)
@@ -195,4 +216,10 @@ class DefaultSimpleComponent(val source: String): SimpleComponent {
             }
         }
     }
-}
\ No newline at end of file
+
+    companion object {
+
+        /** 空白文本块的原始信息 */
+        private val emptyRawMessage by lazy(LazyThreadSafetyMode.PUBLICATION) { Components.empty().toRawMessage() }
+    }
+}
@@ -0,0 +1,171 @@
+package taboolib.module.chat.impl
+
+import net.md_5.bungee.api.chat.BaseComponent
+import taboolib.common.platform.ProxyCommandSender
+import taboolib.common.platform.ProxyPlayer
+import taboolib.common.platform.function.onlinePlayers
+import taboolib.module.chat.*
+import java.awt.Color
+
+/**
+ * 不可变的 [ComponentText]
+ *
+ * 原始信息、带颜色的纯文本与纯文本在首次使用时计算并缓存，
+ * 适用于需要向大量玩家发送同一条信息的场景。所有修改操作均会抛出 [UnsupportedOperationException]。
+ *
+ * TabooLib
+ * taboolib.module.chat.impl.FrozenComponent
+ *
+ * @since 2026/10/19 17:40
+ */
+class FrozenComponent(source: DefaultComponent) : ComponentText {
+
+    /** 冻结时的副本，与原始组件互不影响 */
+    private val source = source.copy()
+
+    private val rawMessage by lazy(LazyThreadSafetyMode.PUBLICATION) { this.source.toRawMessage() }
+    private val legacyText by lazy(LazyThreadSafetyMode.PUBLICATION) { this.source.toLegacyText() }
+    private val plainText by lazy(LazyThreadSafetyMode.PUBLICATION) { this.source.toPlainText() }
+
+    override fun toRawMessage(): String {
+        return rawMessage
+    }
+
+    override fun toLegacyText(): String {
+        return legacyText
+    }
+
+    override fun toPlainText(): String {
+        return plainText
+    }
+
+    /** 返回副本，避免缓存的结果被修改 */
+    override fun toSpigotObject(): BaseComponent {
+        return source.toSpigotObject().duplicate()
+    }
+
+    override fun toLegacyRawMessage(): RawMessage {
+        return RawMessage(source.copy())
+    }
+
+    override fun broadcast() {
+        sendTo(onlinePlayers())
+    }
+
+    override fun sendTo(sender: ProxyCommandSender) {
+        if (sender is ProxyPlayer) {
+            sender.sendRawMessage(rawMessage)
+        } else {
+            sender.sendMessage(legacyText)
+        }
+    }
+
+    override fun sendTo(senders: Collection<ProxyCommandSender>) {
+        senders.forEach { sendTo(it) }
+    }
+
+    override fun freeze(): ComponentText {
+        return this
+    }
+
+    /** 获取可修改的副本 */
+    fun thaw(): ComponentText {
+        return source.copy()
+    }
+
+    override fun newLine() = frozen()
+
+    override fun plusAssign(text: String) {
+        frozen()
+    }
+
+    override fun plusAssign(other: ComponentText) {
+        frozen()
+    }
+
+    override fun append(text: String) = frozen()
+
+    override fun append(other: ComponentText) = frozen()
+
+    override fun appendTranslation(text: String, vararg obj: Any) = frozen()
+
+    override fun appendTranslation(text: String, obj: List<Any>) = frozen()
+
+    override fun appendKeybind(key: String) = frozen()
+
+    override fun appendScore(name: String, objective: String) = frozen()
+
+    override fun appendSelector(selector: String) = frozen()
+
+    override fun hoverText(text: String) = frozen()
+
+    override fun hoverText(text: List<String>) = frozen()
+
+    override fun hoverText(text: ComponentText) = frozen()
+
+    override fun hoverItem(id: String, nbt: String) = frozen()
+
+    override fun hoverEntity(id: String, type: String?, name: String?) = frozen()
+
+    override fun hoverEntity(id: String, type: String?, name: ComponentText?) = frozen()
+
+    override fun click(action: ClickAction, value: String) = frozen()
+
+    override fun clickOpenURL(url: String) = frozen()
+
+    override fun clickOpenFile(file: String) = frozen()
+
+    override fun clickRunCommand(command: String) = frozen()
+
+    override fun clickSuggestCommand(command: String) = frozen()
+
+    override fun clickChangePage(page: Int) = frozen()
+
+    override fun clickCopyToClipboard(text: String) = frozen()
+
+    override fun clickInsertText(text: String) = frozen()
+
+    override fun decoration(decoration: Decoration) = frozen()
+
+    override fun undecoration(decoration: Decoration) = frozen()
+
+    override fun undecoration() = frozen()
+
+    override fun bold() = frozen()
+
+    override fun unbold() = frozen()
+
+    override fun italic() = frozen()
+
+    override fun unitalic() = frozen()
+
+    override fun underline() = frozen()
+
+    override fun ununderline() = frozen()
+
+    override fun strikethrough() = frozen()
+
+    override fun unstrikethrough() = frozen()
+
+    override fun obfuscated() = frozen()
+
+    override fun unobfuscated() = frozen()
+
+    override fun font(font: String) = frozen()
+
+    override fun unfont() = frozen()
+
+    override fun color(color: StandardColors) = frozen()
+
+    override fun color(color: Color) = frozen()
+
+    override fun uncolor() = frozen()
+
+    override fun toString(): String {
+        return rawMessage
+    }
+
+    private fun frozen(): Nothing {
+        throw UnsupportedOperationException("Component is frozen, use thaw() to get a mutable copy.")
+    }
+}
@@ -49,8 +49,17 @@ open class TextBlock(val level: Int, val properties: MutableMap<String, Property
         return arr.joinToString("\n")
     }
 
-    /** 构建 RawMessage */
-    fun build(transfer: TextTransfer): ComponentText {
+    /** 是否含有参数槽位（包括链接属性） */
+    fun hasArguments(): Boolean {
+        return text.containsArgumentSlot() || properties.values.any { it is PropertyValue.Link || it?.toString()?.containsArgumentSlot() == true }
+    }
+
+    /**
+     * 构建 RawMessage
+     *
+     * @param prebuilt 已预先构建的子文本块，构建时直接复用其副本
+     */
+    fun build(transfer: TextTransfer, prebuilt: Map<TextBlock, DefaultComponent> = emptyMap()): ComponentText {
         val rawMessage = Components.empty()
         val newText = transfer(text)
         // 文本类型
@@ -157,7 +166,7 @@ open class TextBlock(val level: Int, val properties: MutableMap<String, Property
                 }
             }
         }
-        subBlocks.forEach { rawMessage.append(it.build(transfer)) }
+        subBlocks.forEach { rawMessage.append(prebuilt[it]?.copy() ?: it.build(transfer, prebuilt)) }
         return rawMessage
     }
 
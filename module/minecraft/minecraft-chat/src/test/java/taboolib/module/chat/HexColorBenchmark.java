@@ -0,0 +1,64 @@
+package taboolib.module.chat;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HexColor#translate(String)} 与重写前实现 {@link LegacyHexColor} 的基准测试
+ * <p>
+ * 输入为模拟物品描述的多行文本，包含 RGB、HEX、已知颜色表达式以及普通颜色代码。
+ * 通过 main 方法运行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexColorBenchmark {
+
+    private List<String> lore;
+
+    @Setup
+    public void setup() {
+        lore = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            lore.add("&{#FFAA00}传说 &{255,85,85}攻击力 &f+" + i + " &{BLUE}暴击 &7" + i + "% &r&{200-200-200}耐久度 &a" + (i * 10));
+            lore.add("&8&o这是一段不含颜色表达式的描述文本，长度与常见的物品描述接近 " + i);
+            lore.add("没有任何颜色符号的普通文本 " + i);
+        }
+    }
+
+    @Benchmark
+    public List<String> translate() {
+        List<String> list = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            list.add(HexColor.translate(line));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<String> translateList() {
+        return HexColor.translate(lore);
+    }
+
+    @Benchmark
+    public List<String> legacy() {
+        List<String> list = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            list.add(LegacyHexColor.translate(line));
+        }
+        return list;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HexColorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package taboolib.module.chat;
+
+import net.md_5.bungee.api.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.util.Optional;
+
+/**
+ * 重写前的 {@link HexColor#translate(String)}，仅作为基准测试的对照
+ */
+class LegacyHexColor {
+
+    private static boolean isLegacy = false;
+
+    static {
+        try {
+            ChatColor.of(Color.BLACK);
+        } catch (NoSuchMethodError ignored) {
+            isLegacy = true;
+        }
+    }
+
+    @NotNull
+    static String translate(String in) {
+        if (isLegacy) {
+            return ChatColor.translateAlternateColorCodes('&', in);
+        }
+        StringBuilder builder = new StringBuilder();
+        char[] chars = in.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (i + 1 < chars.length && chars[i] == '&' && chars[i + 1] == '{') {
+                ChatColor chatColor = null;
+                char[] match = new char[0];
+                for (int j = i + 2; j < chars.length && chars[j] != '}'; j++) {
+                    match = arrayAppend(match, chars[j]);
+                }
+                if (match.length == 11 && (match[3] == ',' || match[3] == '-') && (match[7] == ',' || match[7] == '-')) {
+                    chatColor = ChatColor.of(new Color(toInt(match, 0, 3), toInt(match, 4, 7), toInt(match, 8, 11)));
+                } else if (match.length == 7 && match[0] == '#') {
+                    try {
+                        chatColor = ChatColor.of(toString(match));
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                } else {
+                    Optional<StandardColors> knownColor = StandardColors.match(toString(match));
+                    if (knownColor.isPresent()) {
+                        chatColor = knownColor.get().toChatColor();
+                    }
+                }
+                if (chatColor != null) {
+                    builder.append(chatColor);
+                    i += match.length + 2;
+                }
+            } else {
+                builder.append(chars[i]);
+            }
+        }
+        String colorString = builder.toString();
+        // 1.20.4 不再支持该写法，该模块无法判断版本，因此全部替换为白色
+        // 若需要恢复默认色请使用 SimpleComponent 中的 reset 属性
+        colorString = colorString.replace("&r", "&f").replace("§r", "§f");
+        return ChatColor.translateAlternateColorCodes('&', colorString);
+    }
+
+    private static char[] arrayAppend(char[] chars, char in) {
+        char[] newChars = new char[chars.length + 1];
+        System.arraycopy(chars, 0, newChars, 0, chars.length);
+        newChars[chars.length] = in;
+        return newChars;
+    }
+
+    private static String toString(char[] chars) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : chars) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static int toInt(char[] chars, int start, int end) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            builder.append(chars[i]);
+        }
+        return Integer.parseInt(builder.toString());
+    }
+}
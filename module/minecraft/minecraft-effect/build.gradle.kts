@@ -3,4 +3,8 @@ dependencies {
     compileOnly(project(":common-util"))
     compileOnly(project(":common-legacy-api"))
     compileOnly(project(":common-platform-api"))
+    // PacketParticleSpawner
+    compileOnly(project(":module:bukkit-nms"))
+    compileOnly(project(":module:bukkit-nms:bukkit-nms-stable"))
+    compileOnly("ink.ptms.core:v12004:12004-minimize:mapped")
 }
\ No newline at end of file
@@ -257,6 +257,30 @@ public class Matrix {
         return new Vector(ax + ay + az, bx + by + bz, cx + cy + cz);
     }
 
+    /**
+     * 将本矩阵转为 3*3 的变换数组 (按行排列)
+     * <p>2*2 矩阵作用于 x, z 平面, y 保持不变, 与 {@link #applyVector(Vector)} 一致</p>
+     *
+     * @return 长度为 9 的数组
+     */
+    public double[] toTransform() {
+        if (getRow() == 2 && getColumn() == 2) {
+            return new double[]{
+                    m[0][0], 0, m[0][1],
+                    0, 1, 0,
+                    m[1][0], 0, m[1][1]
+            };
+        } else if (getRow() == 3 && getColumn() == 3) {
+            return new double[]{
+                    m[0][0], m[0][1], m[0][2],
+                    m[1][0], m[1][1], m[1][2],
+                    m[2][0], m[2][1], m[2][2]
+            };
+        }
+
+        throw new IllegalArgumentException("当前矩阵非 2*2 或 3*3 的方阵");
+    }
+
     public static Vector createVector(Location start, Location end) {
         return new Vector(end.getX() - start.getX(), end.getY() - start.getY(), end.getZ() - start.getZ());
     }
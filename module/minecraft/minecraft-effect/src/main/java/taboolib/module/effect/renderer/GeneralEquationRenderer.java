@@ -26,6 +26,15 @@ public class GeneralEquationRenderer extends ParticleObj implements Playable {
     private double dx;
     private double currentX;
 
+    private boolean precompute = false;
+
+    /**
+     * 上一次的采样结果及其参数, 用于增量采样
+     */
+    private double[] samples;
+    private double samplesMinX;
+    private double samplesDx;
+
     public GeneralEquationRenderer(Location origin, Function<Double, Double> function, ParticleSpawner spawner) {
         this(origin, function, -5D, 5D, spawner);
     }
@@ -64,8 +73,35 @@ public class GeneralEquationRenderer extends ParticleObj implements Playable {
         }).collect(Collectors.toList());
     }
 
+    @Override
+    protected double[] buildPoints() {
+        if (!precompute) {
+            return null;
+        }
+        int count = Tessellation.count(minX, maxX, dx);
+        double[] result = new double[count * 3];
+        int from = 0;
+        // 自变量的起点与步长不变时复用上一次的采样结果
+        if (samples != null && samplesMinX == minX && samplesDx == dx) {
+            from = Math.min(count, samples.length / 3);
+            System.arraycopy(samples, 0, result, 0, from * 3);
+        }
+        Tessellation.forEach(from, count, i -> {
+            double x = minX + i * dx;
+            result[i * 3] = x;
+            result[i * 3 + 1] = function.apply(x);
+        });
+        samples = result;
+        samplesMinX = minX;
+        samplesDx = dx;
+        return result;
+    }
+
     @Override
     public void show() {
+        if (showPoints()) {
+            return;
+        }
         for (double x = minX; x < maxX; x += dx) {
             spawnParticle(getOrigin().clone().add(x, function.apply(x), 0));
         }
@@ -100,6 +136,7 @@ public class GeneralEquationRenderer extends ParticleObj implements Playable {
 
     public GeneralEquationRenderer setMinX(double minX) {
         this.minX = minX;
+        resetPoints();
         return this;
     }
 
@@ -109,6 +146,7 @@ public class GeneralEquationRenderer extends ParticleObj implements Playable {
 
     public GeneralEquationRenderer setMaxX(double maxX) {
         this.maxX = maxX;
+        resetPoints();
         return this;
     }
 
@@ -118,6 +156,30 @@ public class GeneralEquationRenderer extends ParticleObj implements Playable {
 
     public GeneralEquationRenderer setDx(double dx) {
         this.dx = dx;
+        resetPoints();
+        return this;
+    }
+
+    /**
+     * 是否预先采样
+     * <p>开启后方程只在参数变化时采样一次, 之后每次展示都复用采样结果, 因此方程必须是确定的</p>
+     *
+     * @return 是否预先采样
+     */
+    public boolean isPrecompute() {
+        return precompute;
+    }
+
+    /**
+     * 设置是否预先采样, 点数较多时将并行采样 (见 {@link Tessellation})
+     *
+     * @param precompute 是否预先采样
+     * @return {@link GeneralEquationRenderer}
+     */
+    public GeneralEquationRenderer setPrecompute(boolean precompute) {
+        this.precompute = precompute;
+        samples = null;
+        resetPoints();
         return this;
     }
 }
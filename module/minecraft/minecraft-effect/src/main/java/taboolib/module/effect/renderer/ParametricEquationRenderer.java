@@ -20,14 +20,26 @@ import java.util.stream.Collectors;
  */
 public class ParametricEquationRenderer extends ParticleObj implements Playable {
 
-    private final Function<Double, Double> xFunction;
-    private final Function<Double, Double> yFunction;
-    private final Function<Double, Double> zFunction;
+    private Function<Double, Double> xFunction;
+    private Function<Double, Double> yFunction;
+    private Function<Double, Double> zFunction;
     private double minT;
     private double maxT;
     private double dt;
     private double currentT;
 
+    private boolean precompute = false;
+
+    /**
+     * 上一次的采样结果及其参数, 用于增量采样
+     */
+    private double[] samples;
+    private double samplesMinT;
+    private double samplesDt;
+    private boolean xChanged;
+    private boolean yChanged;
+    private boolean zChanged;
+
     /**
      * 参数方程渲染器, 自动将z方程变为0
      *
@@ -111,8 +123,56 @@ public class ParametricEquationRenderer extends ParticleObj implements Playable
         }).collect(Collectors.toList());
     }
 
+    @Override
+    protected double[] buildPoints() {
+        if (!precompute) {
+            return null;
+        }
+        int count = Tessellation.count(minT, maxT, dt);
+        double[] result = new double[count * 3];
+        int from = 0;
+        // 自变量的起点与步长不变时复用上一次的采样结果, 只重新计算发生变化的方程
+        if (samples != null && samplesMinT == minT && samplesDt == dt) {
+            from = Math.min(count, samples.length / 3);
+            System.arraycopy(samples, 0, result, 0, from * 3);
+            boolean x = xChanged;
+            boolean y = yChanged;
+            boolean z = zChanged;
+            if (x || y || z) {
+                Tessellation.forEach(0, from, i -> {
+                    double t = minT + i * dt;
+                    if (x) {
+                        result[i * 3] = xFunction.apply(t);
+                    }
+                    if (y) {
+                        result[i * 3 + 1] = yFunction.apply(t);
+                    }
+                    if (z) {
+                        result[i * 3 + 2] = zFunction.apply(t);
+                    }
+                });
+            }
+        }
+        Tessellation.forEach(from, count, i -> {
+            double t = minT + i * dt;
+            result[i * 3] = xFunction.apply(t);
+            result[i * 3 + 1] = yFunction.apply(t);
+            result[i * 3 + 2] = zFunction.apply(t);
+        });
+        samples = result;
+        samplesMinT = minT;
+        samplesDt = dt;
+        xChanged = false;
+        yChanged = false;
+        zChanged = false;
+        return result;
+    }
+
     @Override
     public void show() {
+        if (showPoints()) {
+            return;
+        }
         for (double t = minT; t < maxT; t += dt) {
             double x = xFunction.apply(t);
             double y = yFunction.apply(t);
@@ -157,6 +217,7 @@ public class ParametricEquationRenderer extends ParticleObj implements Playable
 
     public ParametricEquationRenderer setMinT(double minT) {
         this.minT = minT;
+        resetPoints();
         return this;
     }
 
@@ -166,6 +227,7 @@ public class ParametricEquationRenderer extends ParticleObj implements Playable
 
     public ParametricEquationRenderer setMaxT(double maxT) {
         this.maxT = maxT;
+        resetPoints();
         return this;
     }
 
@@ -175,6 +237,63 @@ public class ParametricEquationRenderer extends ParticleObj implements Playable
 
     public ParametricEquationRenderer setDt(double dt) {
         this.dt = dt;
+        resetPoints();
+        return this;
+    }
+
+    public Function<Double, Double> getXFunction() {
+        return xFunction;
+    }
+
+    public ParametricEquationRenderer setXFunction(Function<Double, Double> xFunction) {
+        this.xFunction = xFunction;
+        xChanged = true;
+        resetPoints();
+        return this;
+    }
+
+    public Function<Double, Double> getYFunction() {
+        return yFunction;
+    }
+
+    public ParametricEquationRenderer setYFunction(Function<Double, Double> yFunction) {
+        this.yFunction = yFunction;
+        yChanged = true;
+        resetPoints();
+        return this;
+    }
+
+    public Function<Double, Double> getZFunction() {
+        return zFunction;
+    }
+
+    public ParametricEquationRenderer setZFunction(Function<Double, Double> zFunction) {
+        this.zFunction = zFunction;
+        zChanged = true;
+        resetPoints();
+        return this;
+    }
+
+    /**
+     * 是否预先采样
+     * <p>开启后方程只在参数变化时采样一次, 之后每次展示都复用采样结果, 因此方程必须是确定的</p>
+     *
+     * @return 是否预先采样
+     */
+    public boolean isPrecompute() {
+        return precompute;
+    }
+
+    /**
+     * 设置是否预先采样, 点数较多时将并行采样 (见 {@link Tessellation})
+     *
+     * @param precompute 是否预先采样
+     * @return {@link ParametricEquationRenderer}
+     */
+    public ParametricEquationRenderer setPrecompute(boolean precompute) {
+        this.precompute = precompute;
+        samples = null;
+        resetPoints();
         return this;
     }
 }
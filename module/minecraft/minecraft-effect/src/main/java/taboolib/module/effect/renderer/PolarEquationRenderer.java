@@ -26,6 +26,15 @@ public class PolarEquationRenderer extends ParticleObj implements Playable {
     private double dTheta;
     private double currentTheta;
 
+    private boolean precompute = false;
+
+    /**
+     * 上一次的采样结果及其参数, 用于增量采样
+     */
+    private double[] samples;
+    private double samplesMinTheta;
+    private double samplesDTheta;
+
     /**
      * 极坐标渲染器
      *
@@ -78,8 +87,36 @@ public class PolarEquationRenderer extends ParticleObj implements Playable {
         }).collect(Collectors.toList());
     }
 
+    @Override
+    protected double[] buildPoints() {
+        if (!precompute) {
+            return null;
+        }
+        int count = Tessellation.count(minTheta, maxTheta, dTheta);
+        double[] result = new double[count * 3];
+        int from = 0;
+        // 自变量的起点与步长不变时复用上一次的采样结果
+        if (samples != null && samplesMinTheta == minTheta && samplesDTheta == dTheta) {
+            from = Math.min(count, samples.length / 3);
+            System.arraycopy(samples, 0, result, 0, from * 3);
+        }
+        Tessellation.forEach(from, count, i -> {
+            double theta = minTheta + i * dTheta;
+            double rho = function.apply(theta);
+            result[i * 3] = rho * Math.cos(theta);
+            result[i * 3 + 1] = rho * Math.sin(theta);
+        });
+        samples = result;
+        samplesMinTheta = minTheta;
+        samplesDTheta = dTheta;
+        return result;
+    }
+
     @Override
     public void show() {
+        if (showPoints()) {
+            return;
+        }
         for (double theta = minTheta; theta < maxTheta; theta += dTheta) {
             double rho = function.apply(theta);
             double x = rho * Math.cos(theta);
@@ -125,6 +162,7 @@ public class PolarEquationRenderer extends ParticleObj implements Playable {
 
     public PolarEquationRenderer setMinTheta(double minTheta) {
         this.minTheta = minTheta;
+        resetPoints();
         return this;
     }
 
@@ -134,6 +172,7 @@ public class PolarEquationRenderer extends ParticleObj implements Playable {
 
     public PolarEquationRenderer setMaxTheta(double maxTheta) {
         this.maxTheta = maxTheta;
+        resetPoints();
         return this;
     }
 
@@ -143,6 +182,30 @@ public class PolarEquationRenderer extends ParticleObj implements Playable {
 
     public PolarEquationRenderer setDTheta(double dTheta) {
         this.dTheta = dTheta;
+        resetPoints();
+        return this;
+    }
+
+    /**
+     * 是否预先采样
+     * <p>开启后方程只在参数变化时采样一次, 之后每次展示都复用采样结果, 因此方程必须是确定的</p>
+     *
+     * @return 是否预先采样
+     */
+    public boolean isPrecompute() {
+        return precompute;
+    }
+
+    /**
+     * 设置是否预先采样, 点数较多时将并行采样 (见 {@link Tessellation})
+     *
+     * @param precompute 是否预先采样
+     * @return {@link PolarEquationRenderer}
+     */
+    public PolarEquationRenderer setPrecompute(boolean precompute) {
+        this.precompute = precompute;
+        samples = null;
+        resetPoints();
         return this;
     }
 }
@@ -0,0 +1,96 @@
+package taboolib.module.effect.renderer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 方程渲染器的采样工具
+ * <p>点数达到 {@link #parallelThreshold} 时在 {@link #pool} 中并行采样</p>
+ */
+public final class Tessellation {
+
+    /**
+     * 并行采样的最小点数
+     */
+    public static int parallelThreshold = 4096;
+
+    /**
+     * 并行采样所使用的线程池
+     */
+    public static ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private Tessellation() {
+    }
+
+    /**
+     * 计算自变量 min + i * step 小于 max 的采样点数量
+     *
+     * @param min  自变量最小值
+     * @param max  自变量最大值
+     * @param step 每次自变量所增加的量
+     * @return 采样点数量
+     */
+    public static int count(double min, double max, double step) {
+        if (!(step > 0) || !(max > min)) {
+            return 0;
+        }
+        double n = Math.ceil((max - min) / step);
+        if (n >= Integer.MAX_VALUE / 3) {
+            throw new IllegalArgumentException("too many points: " + n);
+        }
+        int count = (int) n;
+        // 修正浮点误差
+        while (count > 0 && min + (count - 1) * step >= max) {
+            count--;
+        }
+        while (min + count * step < max) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 对 [from, to) 内的每个采样点执行 action, 点数较多时并行执行
+     *
+     * @param from   起始序号
+     * @param to     结束序号 (不包含)
+     * @param action 采样动作, 需要能够在多个线程中同时执行
+     */
+    public static void forEach(int from, int to, IntConsumer action) {
+        if (to - from < parallelThreshold) {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new SampleTask(from, to, Math.max(parallelThreshold / 4, 256), action));
+    }
+
+    private static class SampleTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer action;
+
+        SampleTask(int from, int to, int grain, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SampleTask(from, mid, grain, action), new SampleTask(mid, to, grain, action));
+        }
+    }
+}
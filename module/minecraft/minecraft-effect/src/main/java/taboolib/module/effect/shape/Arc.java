@@ -7,6 +7,7 @@ import taboolib.common.util.Vector;
 import taboolib.module.effect.ParticleObj;
 import taboolib.module.effect.ParticleSpawner;
 import taboolib.module.effect.Playable;
+import taboolib.module.effect.PointBuffer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -110,13 +111,18 @@ public class Arc extends ParticleObj implements Playable {
     }
 
     @Override
-    public void show() {
+    protected double[] buildPoints() {
+        PointBuffer buffer = new PointBuffer();
         for (double i = startAngle; i < angle; i += step) {
             double radians = Math.toRadians(i);
-            double x = radius * Math.cos(radians);
-            double z = radius * Math.sin(radians);
-            spawnParticle(getOrigin().clone().add(x, 0, z));
+            buffer.add(radius * Math.cos(radians), 0, radius * Math.sin(radians));
         }
+        return buffer.toArray();
+    }
+
+    @Override
+    public void show() {
+        showPoints();
     }
 
     @Override
@@ -131,10 +137,7 @@ public class Arc extends ParticleObj implements Playable {
             }
             currentAngle += step;
             double radians = Math.toRadians(currentAngle);
-            double x = radius * Math.cos(radians);
-            double z = radius * Math.sin(radians);
-
-            spawnParticle(getOrigin().clone().add(x, 0, z));
+            spawnPoint(radius * Math.cos(radians), 0, radius * Math.sin(radians));
             return Unit.INSTANCE;
         });
     }
@@ -143,10 +146,7 @@ public class Arc extends ParticleObj implements Playable {
     public void playNextPoint() {
         currentAngle += step;
         double radians = Math.toRadians(currentAngle);
-        double x = radius * Math.cos(radians);
-        double z = radius * Math.sin(radians);
-
-        spawnParticle(getOrigin().clone().add(x, 0, z));
+        spawnPoint(radius * Math.cos(radians), 0, radius * Math.sin(radians));
 
         // 进行重置
         if (currentAngle > angle) {
@@ -160,6 +160,7 @@ public class Arc extends ParticleObj implements Playable {
 
     public Arc setStartAngle(double startAngle) {
         this.startAngle = startAngle;
+        resetPoints();
         return this;
     }
 
@@ -169,6 +170,7 @@ public class Arc extends ParticleObj implements Playable {
 
     public Arc setAngle(double angle) {
         this.angle = angle;
+        resetPoints();
         return this;
     }
 
@@ -178,6 +180,7 @@ public class Arc extends ParticleObj implements Playable {
 
     public Arc setRadius(double radius) {
         this.radius = radius;
+        resetPoints();
         return this;
     }
 
@@ -187,6 +190,7 @@ public class Arc extends ParticleObj implements Playable {
 
     public Arc setStep(double step) {
         this.step = step;
+        resetPoints();
         return this;
     }
 }
@@ -7,6 +7,7 @@ import taboolib.common.util.Vector;
 import taboolib.module.effect.ParticleObj;
 import taboolib.module.effect.ParticleSpawner;
 import taboolib.module.effect.Playable;
+import taboolib.module.effect.PointBuffer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -91,11 +92,22 @@ public class Line extends ParticleObj implements Playable {
     }
 
     @Override
-    public void show() {
+    protected double[] buildPoints() {
+        PointBuffer buffer = new PointBuffer();
         for (double i = 0; i < length; i += step) {
-            Vector vectorTemp = vector.clone().multiply(i);
-            spawnParticle(start.clone().add(vectorTemp));
+            buffer.add(vector.getX() * i, vector.getY() * i, vector.getZ() * i);
         }
+        return buffer.toArray();
+    }
+
+    @Override
+    protected Location getPointAnchor() {
+        return start;
+    }
+
+    @Override
+    public void show() {
+        showPoints();
     }
 
     @Override
@@ -107,8 +119,7 @@ public class Line extends ParticleObj implements Playable {
                 return Unit.INSTANCE;
             }
             currentStep += step;
-            Vector vectorTemp = vector.clone().multiply(currentStep);
-            spawnParticle(start.clone().add(vectorTemp));
+            spawnPoint(vector.getX() * currentStep, vector.getY() * currentStep, vector.getZ() * currentStep);
             return Unit.INSTANCE;
         });
     }
@@ -116,8 +127,7 @@ public class Line extends ParticleObj implements Playable {
     @Override
     public void playNextPoint() {
         currentStep += step;
-        Vector vectorTemp = vector.clone().multiply(currentStep);
-        spawnParticle(start.clone().add(vectorTemp));
+        spawnPoint(vector.getX() * currentStep, vector.getY() * currentStep, vector.getZ() * currentStep);
 
         if (currentStep > length) {
             currentStep = 0D;
@@ -194,5 +204,6 @@ public class Line extends ParticleObj implements Playable {
         vector = end.clone().subtract(start).toVector();
         length = vector.length();
         vector.normalize();
+        resetPoints();
     }
 }
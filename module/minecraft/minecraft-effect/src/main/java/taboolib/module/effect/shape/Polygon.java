@@ -4,6 +4,7 @@ import taboolib.common.util.Location;
 import taboolib.common.util.Vector;
 import taboolib.module.effect.ParticleObj;
 import taboolib.module.effect.ParticleSpawner;
+import taboolib.module.effect.PointBuffer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -164,17 +165,32 @@ public class Polygon extends ParticleObj {
     }
 
     @Override
-    public void show() {
+    protected double[] buildPoints() {
+        PointBuffer buffer = new PointBuffer();
         if (locations.isEmpty()) {
-            return;
+            return buffer.toArray();
         }
         for (int i = 0; i < locations.size(); i++) {
             if (i + 1 == locations.size()) {
-                buildLine(locations.get(i), locations.get(0), step);
+                buildLine(buffer, locations.get(i), locations.get(0), step);
                 break;
             }
-            buildLine(locations.get(i), locations.get(i + 1), step);
+            buildLine(buffer, locations.get(i), locations.get(i + 1), step);
         }
+        return buffer.toArray();
+    }
+
+    /**
+     * 粒子点相对于第一个顶点, 与顶点坐标保持一致
+     */
+    @Override
+    protected Location getPointAnchor() {
+        return locations.isEmpty() ? getOrigin() : locations.get(0);
+    }
+
+    @Override
+    public void show() {
+        showPoints();
     }
 
     /**
@@ -188,21 +204,27 @@ public class Polygon extends ParticleObj {
             double z = Math.sin(radians) * radius;
             locations.add(getOrigin().clone().add(x, 0, z));
         }
+        resetPoints();
     }
 
     /**
-     * 此方法只用于 Polygon
+     * 此方法只用于 Polygon, 粒子点相对于第一个顶点
      *
-     * @param locA 点A
-     * @param locB 点B
-     * @param step 步长
+     * @param buffer 粒子点
+     * @param locA   点A
+     * @param locB   点B
+     * @param step   步长
      */
-    private void buildLine(Location locA, Location locB, double step) {
+    private void buildLine(PointBuffer buffer, Location locA, Location locB, double step) {
+        Location anchor = locations.get(0);
         Vector vectorAB = locB.clone().subtract(locA).toVector();
         double vectorLength = vectorAB.length();
         vectorAB.normalize();
+        double x = locA.getX() - anchor.getX();
+        double y = locA.getY() - anchor.getY();
+        double z = locA.getZ() - anchor.getZ();
         for (double i = 0; i < vectorLength; i += step) {
-            spawnParticle(locA.clone().add(vectorAB.clone().multiply(i)));
+            buffer.add(x + vectorAB.getX() * i, y + vectorAB.getY() * i, z + vectorAB.getZ() * i);
         }
     }
 }
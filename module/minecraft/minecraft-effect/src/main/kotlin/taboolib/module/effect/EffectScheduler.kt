@@ -0,0 +1,238 @@
+package taboolib.module.effect
+
+import taboolib.common.platform.function.onlinePlayers
+import taboolib.common.platform.function.submit
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 特效调度器
+ *
+ * 由 [ParticleObj.alwaysShow]、[ParticleObj.alwaysPlay] 等方法注册的特效统一在调度器的任务中按各自的周期播放
+ * （同步与异步各一个任务），代替每个特效单独创建调度任务。
+ *
+ * 每刻按 [ParticleObj.priority] 从高到低播放，超出粒子预算 [budget] 的特效延后到下一刻；
+ * 开启 [viewDistance] 后，附近没有玩家的特效将被跳过。
+ * 每刻结束时对本刻使用过的 [ParticleSpawner] 调用一次 [ParticleSpawner.flush]，用于批量发送。
+ *
+ * TabooLib
+ * taboolib.module.effect.EffectScheduler
+ *
+ * @since 2026/10/19 22:50
+ */
+object EffectScheduler {
+
+    /** 每刻最多生成的粒子数量（同步与异步共享），小于等于 0 时不限制 */
+    var budget = 0
+
+    /** 观察距离，特效附近没有玩家时跳过，小于等于 0 时不剔除 */
+    var viewDistance = 0.0
+
+    /** 本刻剩余的粒子预算 */
+    private val remaining = AtomicInteger()
+
+    /** 世界 → 玩家坐标（按 x, y, z 依次排列），每刻在主线程中更新 */
+    @Volatile
+    private var viewers = emptyMap<String, DoubleArray>()
+
+    private val syncTicker = Ticker()
+    private val asyncTicker = Ticker()
+
+    private var started = false
+
+    /**
+     * 注册特效，已注册的特效将被替换
+     *
+     * @param effect 特效
+     * @param type 播放方式，不能为 [ShowType.NONE]
+     */
+    fun register(effect: ParticleObj, type: ShowType) {
+        if (type == ShowType.NONE) {
+            error("ShowType.NONE cannot be scheduled")
+        }
+        unregister(effect)
+        start()
+        val async = type == ShowType.ALWAYS_SHOW_ASYNC || type == ShowType.ALWAYS_PLAY_ASYNC
+        (if (async) asyncTicker else syncTicker).add(Entry(effect, type))
+    }
+
+    /**
+     * 注销特效
+     */
+    fun unregister(effect: ParticleObj) {
+        syncTicker.remove(effect)
+        asyncTicker.remove(effect)
+    }
+
+    /**
+     * 是否已注册
+     */
+    fun isRegistered(effect: ParticleObj): Boolean {
+        return syncTicker.entries.containsKey(effect) || asyncTicker.entries.containsKey(effect)
+    }
+
+    /**
+     * 已注册的特效数量
+     */
+    fun size(): Int {
+        return syncTicker.entries.size + asyncTicker.entries.size
+    }
+
+    @Synchronized
+    private fun start() {
+        if (started) {
+            return
+        }
+        started = true
+        submit(period = 1) {
+            // 每刻开始时重置预算并更新玩家坐标
+            remaining.set(budget)
+            viewers = if (viewDistance > 0) collectViewers() else emptyMap()
+            syncTicker.tick()
+        }
+        submit(period = 1, async = true) { asyncTicker.tick() }
+    }
+
+    private fun collectViewers(): Map<String, DoubleArray> {
+        val map = HashMap<String, PointBuffer>()
+        onlinePlayers().forEach {
+            val location = it.location
+            map.computeIfAbsent(it.world) { PointBuffer(16) }.add(location.x, location.y, location.z)
+        }
+        return map.mapValues { it.value.toArray() }
+    }
+
+    /**
+     * 特效附近是否有玩家
+     */
+    private fun isViewed(effect: ParticleObj): Boolean {
+        val distance = viewDistance
+        if (distance <= 0) {
+            return true
+        }
+        // 无法确定位置的特效不剔除
+        val location = effect.getCullingLocation() ?: return true
+        val points = viewers[location.world ?: return true] ?: return false
+        val square = distance * distance
+        for (i in points.indices step 3) {
+            val x = points[i] - location.x
+            val y = points[i + 1] - location.y
+            val z = points[i + 2] - location.z
+            if (x * x + y * y + z * z <= square) {
+                return true
+            }
+        }
+        return false
+    }
+
+    /**
+     * 本刻是否还有预算
+     */
+    private fun acquire(): Boolean {
+        return budget <= 0 || remaining.get() > 0
+    }
+
+    private fun release(used: Int) {
+        if (budget > 0 && used > 0) {
+            remaining.addAndGet(-used)
+        }
+    }
+
+    private class Entry(val effect: ParticleObj, val type: ShowType) {
+
+        /** 距离下次播放的刻数 */
+        var wait = 0L
+
+        fun run() {
+            when (type) {
+                ShowType.ALWAYS_SHOW, ShowType.ALWAYS_SHOW_ASYNC -> effect.show()
+                else -> (effect as Playable).playNextPoint()
+            }
+        }
+    }
+
+    private class Ticker {
+
+        val entries = ConcurrentHashMap<ParticleObj, Entry>()
+
+        /** 按优先级排序的特效，注册或注销后重新排序 */
+        @Volatile
+        var sorted = emptyList<Entry>()
+
+        @Volatile
+        var dirty = false
+
+        /** 防止异步任务重叠执行 */
+        private val ticking = AtomicBoolean()
+
+        /** 本刻使用过的粒子生成器 */
+        private val spawners = Collections.newSetFromMap(IdentityHashMap<ParticleSpawner, Boolean>())
+
+        fun add(entry: Entry) {
+            entries[entry.effect] = entry
+            dirty = true
+        }
+
+        fun remove(effect: ParticleObj) {
+            if (entries.remove(effect) != null) {
+                dirty = true
+            }
+        }
+
+        fun tick() {
+            if (!ticking.compareAndSet(false, true)) {
+                return
+            }
+            try {
+                if (dirty) {
+                    dirty = false
+                    sorted = entries.values.sortedByDescending { it.effect.priority }
+                }
+                for (entry in sorted) {
+                    // 已注销
+                    if (entries[entry.effect] !== entry) {
+                        continue
+                    }
+                    if (--entry.wait > 0) {
+                        continue
+                    }
+                    // 预算耗尽，延后到下一刻
+                    if (!acquire()) {
+                        entry.wait = 0
+                        continue
+                    }
+                    val period = entry.effect.period
+                    entry.wait = period
+                    if (isViewed(entry.effect)) {
+                        val effect = entry.effect
+                        val emitted = effect.emitted
+                        try {
+                            entry.run()
+                        } catch (e: Throwable) {
+                            e.printStackTrace()
+                        }
+                        release((effect.emitted - emitted).toInt())
+                        spawners += effect.spawner
+                    }
+                    // 周期小于等于 0 时仅播放一次
+                    if (period <= 0 && entries.remove(entry.effect, entry)) {
+                        dirty = true
+                        entry.effect.showType = ShowType.NONE
+                    }
+                }
+                spawners.forEach {
+                    try {
+                        it.flush()
+                    } catch (e: Throwable) {
+                        e.printStackTrace()
+                    }
+                }
+                spawners.clear()
+            } finally {
+                ticking.set(false)
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package taboolib.module.effect
 
-import taboolib.common.platform.function.submit
-import taboolib.common.platform.service.PlatformExecutor.PlatformTask
 import taboolib.common.util.Location
 import taboolib.module.effect.math.Matrix
 
@@ -17,14 +15,22 @@ abstract class ParticleObj(var spawner: ParticleSpawner) {
 
     var showType = ShowType.NONE
 
-    private var running = false
+    /** 优先级，[EffectScheduler] 的粒子预算不足时优先播放优先级高的特效 */
+    open var priority = 0
+
+    /** 已生成的粒子数量，用于 [EffectScheduler] 计算预算 */
+    internal var emitted = 0L
+
     private var matrix: Matrix? = null
-    private var task: PlatformTask? = null
 
     private var incrementX = 0.0
     private var incrementY = 0.0
     private var incrementZ = 0.0
 
+    /** 缓存的粒子点 */
+    @Volatile
+    private var points: DoubleArray? = null
+
     open fun getIncrementX(): Double {
         return incrementX
     }
@@ -102,88 +108,156 @@ abstract class ParticleObj(var spawner: ParticleSpawner) {
 
     abstract fun show()
 
-    abstract fun calculateLocations(): List<Location>
+    /**
+     * 计算粒子点，相对于 [getPointAnchor] 的坐标按 x, y, z 依次排列（见 [PointBuffer]）
+     * 结果会被缓存，不支持时返回 null
+     */
+    protected open fun buildPoints(): DoubleArray? {
+        return null
+    }
 
-    open fun alwaysShow() {
-        turnOffTask()
-        // 此处的延迟 2tick 是为了防止turnOffTask还没把特效给关闭时的缓冲
-        submit(delay = 2) {
-            running = true
-            task = submit(period = period) {
-                if (running) {
-                    show()
-                }
-            }
-            showType = ShowType.ALWAYS_SHOW
+    /**
+     * 粒子点的参照坐标，默认为 [origin]
+     */
+    protected open fun getPointAnchor(): Location {
+        return origin
+    }
+
+    /**
+     * 用于 [EffectScheduler] 剔除的坐标，未设置坐标时返回 null
+     */
+    internal fun getCullingLocation(): Location? {
+        return try {
+            getPointAnchor()
+        } catch (_: UninitializedPropertyAccessException) {
+            null
         }
     }
 
-    open fun alwaysShowAsync() {
-        turnOffTask()
-        // 此处的延迟 2tick 是为了防止turnOffTask还没把特效给关闭时的缓冲
-        submit(delay = 2) {
-            running = true
-            task = submit(period = period, async = true) {
-                if (running) {
-                    show()
-                }
+    /**
+     * 获取缓存的粒子点，不支持时返回 null
+     */
+    fun getPoints(): DoubleArray? {
+        return points ?: buildPoints()?.also { points = it }
+    }
+
+    /**
+     * 清除缓存的粒子点，特效参数发生变化时调用
+     * 参照坐标、矩阵与增量在播放时读取，修改它们无需调用该方法
+     */
+    open fun resetPoints() {
+        points = null
+    }
+
+    /**
+     * 通过缓存的粒子点播放粒子
+     * 矩阵在每次播放时合并为一个 3*3 变换，粒子通过 [ParticleSpawner.spawn] 的坐标版本生成，不创建 [Location]
+     *
+     * @return 是否支持
+     */
+    protected fun showPoints(): Boolean {
+        val points = getPoints() ?: return false
+        spawnPoints(points, 0, points.size / 3)
+        return true
+    }
+
+    /**
+     * 在相对于 [getPointAnchor] 的坐标处生成粒子，效果与 [spawnParticle] 相同
+     */
+    protected fun spawnPoint(x: Double, y: Double, z: Double) {
+        spawnPoints(doubleArrayOf(x, y, z), 0, 1)
+    }
+
+    private fun spawnPoints(points: DoubleArray, from: Int, to: Int) {
+        val anchor = getPointAnchor()
+        val world = anchor.world
+        val transform = matrix?.toTransform()
+        if (transform == null) {
+            val bx = anchor.x + incrementX
+            val by = anchor.y + incrementY
+            val bz = anchor.z + incrementZ
+            for (i in from * 3 until to * 3 step 3) {
+                spawner.spawn(world, bx + points[i], by + points[i + 1], bz + points[i + 2])
             }
-            showType = ShowType.ALWAYS_SHOW_ASYNC
+            emitted += to - from
+            return
         }
+        // 变换以 origin 为原点：origin + M(anchor - origin + p) = origin + M(anchor - origin) + Mp
+        val origin = origin
+        val ox = anchor.x - origin.x
+        val oy = anchor.y - origin.y
+        val oz = anchor.z - origin.z
+        val bx = origin.x + transform[0] * ox + transform[1] * oy + transform[2] * oz + incrementX
+        val by = origin.y + transform[3] * ox + transform[4] * oy + transform[5] * oz + incrementY
+        val bz = origin.z + transform[6] * ox + transform[7] * oy + transform[8] * oz + incrementZ
+        for (i in from * 3 until to * 3 step 3) {
+            val x = points[i]
+            val y = points[i + 1]
+            val z = points[i + 2]
+            spawner.spawn(
+                world,
+                bx + transform[0] * x + transform[1] * y + transform[2] * z,
+                by + transform[3] * x + transform[4] * y + transform[5] * z,
+                bz + transform[6] * x + transform[7] * y + transform[8] * z
+            )
+        }
+        emitted += to - from
+    }
+
+    abstract fun calculateLocations(): List<Location>
+
+    /**
+     * 通过 [EffectScheduler] 按周期持续展示特效
+     */
+    open fun alwaysShow() {
+        schedule(ShowType.ALWAYS_SHOW)
+    }
+
+    open fun alwaysShowAsync() {
+        schedule(ShowType.ALWAYS_SHOW_ASYNC)
     }
 
+    /**
+     * 通过 [EffectScheduler] 按周期逐个播放粒子
+     */
     open fun alwaysPlay() {
-        if (this !is Playable) {
-            try {
-                throw NoSuchMethodException("The effect object is unplayable")
-            } catch (e: NoSuchMethodException) {
-                e.printStackTrace()
-            }
+        if (checkPlayable()) {
+            schedule(ShowType.ALWAYS_PLAY)
         }
-        val playable = this as Playable
-        turnOffTask()
+    }
 
-        // 此处的延迟 2tick 是为了防止turnOffTask还没把特效给关闭时的缓冲
-        submit(delay = 2) {
-            running = true
-            task = submit(period = period) {
-                if (running) {
-                    playable.playNextPoint()
-                }
-            }
-            showType = ShowType.ALWAYS_PLAY
+    open fun alwaysPlayAsync() {
+        if (checkPlayable()) {
+            schedule(ShowType.ALWAYS_PLAY_ASYNC)
         }
     }
 
-    open fun alwaysPlayAsync() {
+    open fun turnOffTask() {
+        if (showType != ShowType.NONE) {
+            EffectScheduler.unregister(this)
+            showType = ShowType.NONE
+        }
+    }
+
+    private fun schedule(type: ShowType) {
+        turnOffTask()
+        EffectScheduler.register(this, type)
+        showType = type
+    }
+
+    /**
+     * 不可播放的特效对象不会被注册
+     */
+    private fun checkPlayable(): Boolean {
         if (this !is Playable) {
             try {
                 throw NoSuchMethodException("The effect object is unplayable")
             } catch (e: NoSuchMethodException) {
                 e.printStackTrace()
             }
+            return false
         }
-        val playable = this as Playable
-        turnOffTask()
-
-        // 此处的延迟 2tick 是为了防止turnOffTask还没把特效给关闭时的缓冲
-        submit(delay = 2) {
-            running = true
-            task = submit(period = period, async = true) {
-                if (running) {
-                    playable.playNextPoint()
-                }
-            }
-            showType = ShowType.ALWAYS_PLAY_ASYNC
-        }
-    }
-
-    open fun turnOffTask() {
-        if (task != null) {
-            running = false
-            task!!.cancel()
-            showType = ShowType.NONE
-        }
+        return true
     }
 
     /**
@@ -202,5 +276,6 @@ abstract class ParticleObj(var spawner: ParticleSpawner) {
         showLocation.add(incrementX, incrementY, incrementZ)
 
         spawner.spawn(showLocation)
+        emitted++
     }
 }
\ No newline at end of file
@@ -12,4 +12,20 @@ import taboolib.common.util.Location
 interface ParticleSpawner {
 
     fun spawn(location: Location)
-}
\ No newline at end of file
+
+    /**
+     * 在指定坐标生成粒子
+     * 使用缓存粒子点的特效（见 [ParticleObj.getPoints]）通过该方法生成粒子，
+     * 默认实现会创建 [Location]，高频特效可以重写该方法以避免为每个粒子创建对象
+     */
+    fun spawn(world: String?, x: Double, y: Double, z: Double) {
+        spawn(Location(world, x, y, z))
+    }
+
+    /**
+     * 由 [EffectScheduler] 在每刻结束时调用
+     * 缓冲粒子的生成器可以在此一次性发送，例如 [taboolib.module.effect.bukkit.PacketParticleSpawner] 会按玩家合并为 bundle 数据包
+     */
+    fun flush() {
+    }
+}
@@ -0,0 +1,41 @@
+package taboolib.module.effect
+
+/**
+ * 粒子点构建器
+ * 将坐标按 x, y, z 依次紧凑存储，用于 [ParticleObj.buildPoints]
+ *
+ * TabooLib
+ * taboolib.module.effect.PointBuffer
+ *
+ * @since 2026/10/19 22:30
+ */
+class PointBuffer(capacity: Int = 64) {
+
+    private var data = DoubleArray(capacity.coerceAtLeast(1) * 3)
+
+    /** 点的数量 */
+    var size = 0
+        private set
+
+    /**
+     * 添加一个点
+     */
+    fun add(x: Double, y: Double, z: Double): PointBuffer {
+        val index = size * 3
+        if (index + 3 > data.size) {
+            data = data.copyOf(data.size shl 1)
+        }
+        data[index] = x
+        data[index + 1] = y
+        data[index + 2] = z
+        size++
+        return this
+    }
+
+    /**
+     * 获取紧凑的坐标数组
+     */
+    fun toArray(): DoubleArray {
+        return data.copyOf(size * 3)
+    }
+}
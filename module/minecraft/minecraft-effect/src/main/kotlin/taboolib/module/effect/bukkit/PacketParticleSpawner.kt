@@ -0,0 +1,150 @@
+package taboolib.module.effect.bukkit
+
+import org.bukkit.Bukkit
+import org.bukkit.Location
+import org.bukkit.Particle
+import org.bukkit.World
+import org.bukkit.entity.Player
+import org.bukkit.util.Vector
+import taboolib.common.platform.function.submit
+import taboolib.module.effect.ParticleSpawner
+import taboolib.module.effect.PointBuffer
+import taboolib.module.nms.PacketSender
+import taboolib.module.nms.createPacket
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * 通过数据包批量发送粒子的 [ParticleSpawner]
+ *
+ * 粒子在 [spawn] 时按世界缓存，在 [flush] 时（由 EffectScheduler 每刻调用）为每个粒子创建一次数据包，
+ * 按玩家分组后通过 [PacketSender.sendPackets] 一次性发送，1.19.4+ 将合并为 ClientboundBundlePacket。
+ * 仅发送给同一世界中 [viewDistance] 范围内的玩家，玩家位置每刻在主线程中记录，[flush] 可以在任意线程中调用。
+ *
+ * 不通过 EffectScheduler 播放（例如直接调用 show）时，缓存的粒子会在下一刻自动发送。
+ * 需要 bukkit-nms 与 bukkit-nms-stable 模块。
+ *
+ * ```
+ * Circle(origin, 2.0, PacketParticleSpawner(Particle.FLAME)).alwaysShowAsync()
+ * ```
+ *
+ * TabooLib
+ * taboolib.module.effect.bukkit.PacketParticleSpawner
+ *
+ * @since 2026/10/19 23:40
+ */
+class PacketParticleSpawner @JvmOverloads constructor(
+    val particle: Particle,
+    val offset: Vector = Vector(),
+    val speed: Double = 0.0,
+    val count: Int = 1,
+    val data: Any? = null,
+    /** 观察距离，小于等于 0 时发送给同一世界中的所有玩家 */
+    val viewDistance: Double = 64.0,
+) : ParticleSpawner {
+
+    /** 世界 → 等待发送的粒子坐标 */
+    private var buffer = HashMap<String, PointBuffer>()
+
+    /** 是否已安排自动发送 */
+    private val scheduled = AtomicBoolean()
+
+    init {
+        startViewerTask()
+    }
+
+    override fun spawn(location: taboolib.common.util.Location) {
+        spawn(location.world, location.x, location.y, location.z)
+    }
+
+    override fun spawn(world: String?, x: Double, y: Double, z: Double) {
+        world ?: return
+        synchronized(this) {
+            buffer.computeIfAbsent(world) { PointBuffer() }.add(x, y, z)
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            submit(async = true) { flush() }
+        }
+    }
+
+    override fun flush() {
+        val points = synchronized(this) {
+            scheduled.set(false)
+            if (buffer.isEmpty()) {
+                return
+            }
+            buffer.also { buffer = HashMap() }
+        }
+        val square = viewDistance * viewDistance
+        val viewers = viewers
+        points.forEach { (name, buffer) ->
+            val snapshot = viewers[name] ?: return@forEach
+            val array = buffer.toArray()
+            // 每个粒子只创建一次数据包，由所有玩家共享；数据包创建时即读取坐标，因此可以复用同一个 Location
+            val packets = arrayOfNulls<Any>(array.size / 3)
+            val location = Location(snapshot.world, 0.0, 0.0, 0.0)
+            val positions = snapshot.positions
+            snapshot.players.forEachIndexed { index, player ->
+                val sendList = ArrayList<Any>()
+                for (i in packets.indices) {
+                    val x = array[i * 3]
+                    val y = array[i * 3 + 1]
+                    val z = array[i * 3 + 2]
+                    if (viewDistance > 0) {
+                        val dx = x - positions[index * 3]
+                        val dy = y - positions[index * 3 + 1]
+                        val dz = z - positions[index * 3 + 2]
+                        if (dx * dx + dy * dy + dz * dz > square) {
+                            continue
+                        }
+                    }
+                    val packet = packets[i] ?: run {
+                        location.x = x
+                        location.y = y
+                        location.z = z
+                        particle.createPacket(location, offset, speed, count, data).also { packets[i] = it }
+                    }
+                    sendList += packet
+                }
+                if (sendList.isNotEmpty() && player.isOnline) {
+                    PacketSender.sendPackets(player, sendList)
+                }
+            }
+        }
+    }
+
+    /**
+     * 世界中的玩家及其坐标（按 x, y, z 依次排列）
+     */
+    private class WorldViewers(val world: World, val players: List<Player>, val positions: DoubleArray)
+
+    companion object {
+
+        /** 世界 → 玩家，每刻在主线程中更新 */
+        @Volatile
+        private var viewers = emptyMap<String, WorldViewers>()
+
+        private val viewerTask = AtomicBoolean()
+
+        private fun startViewerTask() {
+            if (viewerTask.compareAndSet(false, true)) {
+                submit(period = 1) { viewers = collectViewers() }
+            }
+        }
+
+        private fun collectViewers(): Map<String, WorldViewers> {
+            val map = HashMap<String, WorldViewers>()
+            Bukkit.getWorlds().forEach { world ->
+                val players = world.players
+                if (players.isNotEmpty()) {
+                    val positions = PointBuffer(players.size)
+                    players.forEach {
+                        val location = it.location
+                        positions.add(location.x, location.y, location.z)
+                    }
+                    map[world.name] = WorldViewers(world, players, positions.toArray())
+                }
+            }
+            return map
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package taboolib.module.lang
+
+import taboolib.common.platform.ProxyCommandSender
+import taboolib.common.util.CompiledFormat
+import taboolib.module.chat.ComponentTemplate
+import taboolib.module.chat.Components
+import taboolib.module.chat.colored
+import taboolib.module.chat.component
+
+/**
+ * 预编译的语言文本
+ *
+ * 颜色代码在编译时完成转换，转换后的文本被解析为 [CompiledFormat]，
+ * 填充参数的结果与先转换颜色再调用 replaceWithOrder 完全一致。
+ *
+ * TabooLib
+ * taboolib.module.lang.CompiledText
+ *
+ * @since 2026/10/19 18:30
+ */
+internal class CompiledText(val source: String, val colored: Boolean) {
+
+    /** 已转换颜色的文本 */
+    val text = if (colored) source.colored() else source
+
+    /** 参数模板 */
+    private val template = CompiledFormat.compile(text)
+
+    /** 是否含有参数槽位 */
+    val hasArguments = template.hasArguments
+
+    /** 不含参数槽位时的 SimpleComponent 模板 */
+    val component: ComponentTemplate? by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        if (hasArguments) null else Components.compileSimple(text)
+    }
+
+    /**
+     * 填充参数并作为 SimpleComponent 发送
+     * 不含参数槽位时复用编译好的模板，否则与原有逻辑相同，在填充参数后解析
+     */
+    fun sendComponent(sender: ProxyCommandSender, vararg args: Any) {
+        val component = component
+        if (component != null) {
+            component.sendTo(sender)
+        } else {
+            format(*args).component().sendTo(sender)
+        }
+    }
+
+    /** 填充参数 */
+    fun format(vararg args: Any): String {
+        return template.format(*args)
+    }
+
+    companion object {
+
+        /**
+         * 编译文本，仅在 [Language.textTransfer] 与发送者和参数无关（仅包含颜色转换）时可用
+         * 若 [previous] 仍然有效则直接返回
+         *
+         * @return 无法编译时返回 null
+         */
+        fun compile(source: String, previous: CompiledText? = null): CompiledText? {
+            val transfer = Language.textTransfer
+            if (transfer.any { it !== ColorTransfer }) {
+                return null
+            }
+            val colored = transfer.isNotEmpty()
+            if (previous != null && previous.source === source && previous.colored == colored) {
+                return previous
+            }
+            return CompiledText(source, colored)
+        }
+    }
+}
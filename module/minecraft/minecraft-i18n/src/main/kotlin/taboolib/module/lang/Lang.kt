@@ -91,10 +91,7 @@ fun ProxyCommandSender.getLocale(): String {
  * @return 语言文件，若不存在则返回默认语言文件或第一个可用的语言文件
  */
 fun ProxyCommandSender.getLocaleFile(): LanguageFile? {
-    val locale = getLocale()
-    return Language.languageFile.entries.firstOrNull { it.key.equals(locale, true) }?.value
-        ?: Language.languageFile[Language.default]
-        ?: Language.languageFile.values.firstOrNull()
+    return if (this is ProxyPlayer) Language.getLanguageFile(this) else Language.getLanguageFile(getLocale())
 }
 
 /**
@@ -7,6 +7,9 @@ import taboolib.common.OpenResult
 import taboolib.common.io.runningResourcesInJar
 import taboolib.common.platform.Awake
 import taboolib.common.platform.ProxyPlayer
+import taboolib.common.platform.event.OptionalEvent
+import taboolib.common.platform.event.SubscribeEvent
+import taboolib.common.platform.function.adaptPlayer
 import taboolib.module.configuration.Configuration
 import taboolib.module.lang.event.PlayerSelectLocaleEvent
 import taboolib.module.lang.event.SystemSelectLocaleEvent
@@ -15,6 +18,7 @@ import taboolib.module.lang.gameside.TypeCommand
 import taboolib.module.lang.gameside.TypeSound
 import taboolib.module.lang.gameside.TypeTitle
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * TabooLib
@@ -78,6 +82,20 @@ object Language : OpenListener {
     /** 是否在语言文件中启用 SimpleComponent 格式化 */
     var enableSimpleComponent = false
 
+    /**
+     * 是否缓存玩家对应的语言文件
+     * 开启后 [PlayerSelectLocaleEvent] 仅在玩家首次解析或客户端语言变更时触发，
+     * 通过该事件为玩家选择语言的插件在结果发生变化时需调用 [invalidateLocaleCache]。
+     * 缓存在语言文件重载或玩家退出时失效
+     */
+    var enableLocaleCache = false
+
+    /** 语言代码（小写）到语言文件的解析结果，包括回退至默认语言的情况 */
+    private val resolvedLanguageFile = ConcurrentHashMap<String, LanguageFile>()
+
+    /** 玩家语言文件缓存 */
+    private val playerLanguageFile = ConcurrentHashMap<UUID, PlayerLocale>()
+
     /**
      * 是否启用文件监听
      * 于 2024/11/20 起，不再默认启用
@@ -109,6 +127,46 @@ object Language : OpenListener {
         }
     }
 
+    /**
+     * 获取语言代码对应的语言文件
+     * 不存在时返回默认语言文件或第一个可用的语言文件
+     */
+    fun getLanguageFile(locale: String): LanguageFile? {
+        resolvedLanguageFile[locale.lowercase()]?.let { return it }
+        val file = languageFile.entries.firstOrNull { it.key.equals(locale, true) }?.value
+            ?: languageFile[default]
+            ?: languageFile.values.firstOrNull()
+            ?: return null
+        resolvedLanguageFile[locale.lowercase()] = file
+        return file
+    }
+
+    /** 获取玩家对应的语言文件 */
+    fun getLanguageFile(player: ProxyPlayer): LanguageFile? {
+        if (!enableLocaleCache) {
+            return getLanguageFile(getLocale(player))
+        }
+        val clientLocale = player.locale
+        val cached = playerLanguageFile[player.uniqueId]
+        if (cached != null && cached.clientLocale == clientLocale) {
+            return cached.file
+        }
+        val file = getLanguageFile(getLocale(player)) ?: return null
+        playerLanguageFile[player.uniqueId] = PlayerLocale(clientLocale, file)
+        return file
+    }
+
+    /** 使玩家的语言文件缓存失效 */
+    fun invalidateLocaleCache(player: ProxyPlayer) {
+        playerLanguageFile.remove(player.uniqueId)
+    }
+
+    /** 使所有语言文件缓存失效，直接修改 [languageFile] 后需要调用 */
+    fun invalidateLocaleCache() {
+        resolvedLanguageFile.clear()
+        playerLanguageFile.clear()
+    }
+
     /** 获取控制台语言 */
     fun getLocale(): String {
         val code = Locale.getDefault().toLanguageTag().replace("-", "_").lowercase()
@@ -137,8 +195,26 @@ object Language : OpenListener {
         isFirstLoaded = true
         languageFile.clear()
         languageFile.putAll(ResourceReader(Language::class.java).files)
+        invalidateLocaleCache()
+    }
+
+    @SubscribeEvent(bind = "org.bukkit.event.player.PlayerQuitEvent")
+    private fun onBukkitQuit(e: OptionalEvent) {
+        e.read<Any>("player")?.let { invalidateLocaleCache(adaptPlayer(it)) }
+    }
+
+    @SubscribeEvent(bind = "net.md_5.bungee.api.event.PlayerDisconnectEvent")
+    private fun onBungeeQuit(e: OptionalEvent) {
+        e.read<Any>("player")?.let { invalidateLocaleCache(adaptPlayer(it)) }
     }
 
+    @SubscribeEvent(bind = "com.velocitypowered.api.event.connection.DisconnectEvent")
+    private fun onVelocityQuit(e: OptionalEvent) {
+        e.read<Any>("player")?.let { invalidateLocaleCache(adaptPlayer(it)) }
+    }
+
+    private class PlayerLocale(val clientLocale: String, val file: LanguageFile)
+
     override fun call(name: String, data: Array<out Any>?): OpenResult {
         return when (name) {
             "taboolib:language_reload" -> OpenResult.successful(reload())
@@ -20,6 +20,9 @@ class TypeSimpleText : Type {
 
     var text: String? = null
 
+    /** 预编译的文本，[text] 或 [Language.textTransfer] 变更后重新编译 */
+    private var compiled: CompiledText? = null
+
     constructor()
     constructor(text: String) {
         if (text.isNotEmpty()) {
@@ -28,7 +31,8 @@ class TypeSimpleText : Type {
     }
 
     fun asText(sender: ProxyCommandSender, vararg args: Any): String? {
-        return text?.translate(sender, *args)?.replaceWithOrder(*args)
+        val text = text ?: return null
+        return compiled(text)?.format(*args) ?: text.translate(sender, *args).replaceWithOrder(*args)
     }
 
     override fun init(source: Map<String, Any>) {
@@ -37,14 +41,23 @@ class TypeSimpleText : Type {
         if (text?.isEmpty() == true) {
             text = null
         }
+        text?.let { compiled(it) }
     }
 
     override fun send(sender: ProxyCommandSender, vararg args: Any) {
-        if (text != null) {
-            text!!.translate(sender, *args).replaceWithOrder(*args).component().sendTo(sender)
+        val text = text ?: return
+        val compiled = compiled(text)
+        if (compiled == null) {
+            text.translate(sender, *args).replaceWithOrder(*args).component().sendTo(sender)
+        } else {
+            compiled.sendComponent(sender, *args)
         }
     }
 
+    private fun compiled(text: String): CompiledText? {
+        return CompiledText.compile(text, compiled).also { compiled = it }
+    }
+
     override fun toString(): String {
         return "NodeText(text=$text)"
     }
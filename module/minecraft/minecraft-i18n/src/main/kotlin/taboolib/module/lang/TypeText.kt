@@ -15,6 +15,9 @@ class TypeText : Type {
 
     var text: String? = null
 
+    /** 预编译的文本，[text] 或 [Language.textTransfer] 变更后重新编译 */
+    private var compiled: CompiledText? = null
+
     constructor()
     constructor(text: String) {
         if (text.isNotEmpty()) {
@@ -23,7 +26,8 @@ class TypeText : Type {
     }
 
     fun asText(sender: ProxyCommandSender, vararg args: Any): String? {
-        return text?.translate(sender, *args)?.replaceWithOrder(*args)
+        val text = text ?: return null
+        return compiled(text)?.format(*args) ?: text.translate(sender, *args).replaceWithOrder(*args)
     }
 
     override fun init(source: Map<String, Any>) {
@@ -32,19 +36,30 @@ class TypeText : Type {
         if (text?.isEmpty() == true) {
             text = null
         }
+        text?.let { compiled(it) }
     }
 
     override fun send(sender: ProxyCommandSender, vararg args: Any) {
-        if (text != null) {
-            val newText = text!!.translate(sender, *args).replaceWithOrder(*args)
+        val text = text ?: return
+        val compiled = compiled(text)
+        if (compiled == null) {
+            val newText = text.translate(sender, *args).replaceWithOrder(*args)
             if (Language.enableSimpleComponent) {
                 newText.component().sendTo(sender)
             } else {
                 sender.sendMessage(newText)
             }
+        } else if (Language.enableSimpleComponent) {
+            compiled.sendComponent(sender, *args)
+        } else {
+            sender.sendMessage(compiled.format(*args))
         }
     }
 
+    private fun compiled(text: String): CompiledText? {
+        return CompiledText.compile(text, compiled).also { compiled = it }
+    }
+
     override fun toString(): String {
         return "NodeText(text=$text)"
     }
@@ -32,6 +32,18 @@ object Exchanges {
     // Paper 映射表
     const val MAPPING_PAPER = "mapping_paper"
 
+    // 头颅纹理档案缓存
+    const val SKULL_PROFILE_CACHE = "skull_profile_cache"
+
+    // 头颅物品缓存
+    const val SKULL_ITEM_CACHE = "skull_item_cache"
+
+    // 头颅缓存容量
+    const val SKULL_CACHE_SIZE = "skull_cache_size"
+
+    // 头颅纹理磁盘缓存的读写锁
+    const val SKULL_TEXTURE_FILE_LOCK = "skull_texture_file_lock"
+
     private val map: MutableMap<String, Any>
 
     init {